@@ -0,0 +1,66 @@
+package com.postzen.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Brings existing comment data up to date with the denormalized columns on posts and comments.
+ * <ul>
+ * <li>posts.comment_count is filled in from the comments table exactly once, guarded by a row in
+ * data_migrations written in the same transaction; after that CommentService keeps it current
+ * and the admin recount endpoint is only a repair tool.</li>
+ * <li>Comments written before threading get a path, as top-level comments numbered in the order
+ * they were written, and each post's comment counter moves past the numbers handed out. This
+ * only touches rows without a path, so it is a no-op once done.</li>
+ * </ul>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class CommentSchemaInitializer {
+
+    private static final String COMMENT_COUNT_BACKFILL = "posts.comment_count";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        backfillCommentCounts();
+        int filled = jdbcTemplate.update("WITH numbered AS (" +
+                "SELECT c.id, p.comment_seq + row_number() OVER (PARTITION BY c.post_id ORDER BY c.created_at, c.id) AS seq " +
+                "FROM comments c JOIN posts p ON p.id = c.post_id WHERE c.path IS NULL), " +
+                "filled AS (UPDATE comments c SET path = lpad(to_hex(n.seq), 8, '0'), depth = 0 " +
+                "FROM numbered n WHERE c.id = n.id RETURNING c.post_id) " +
+                "UPDATE posts p SET comment_seq = p.comment_seq + f.filled " +
+                "FROM (SELECT post_id, COUNT(*) AS filled FROM filled GROUP BY post_id) f WHERE p.id = f.post_id");
+        if (filled > 0) {
+            log.info("Numbered legacy comments on {} posts", filled);
+        }
+    }
+
+    private void backfillCommentCounts() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS data_migrations (" +
+                "name varchar(100) PRIMARY KEY, applied_at timestamp NOT NULL DEFAULT now())");
+        Integer updated = transactionTemplate.execute(status -> {
+            // Concurrent nodes wait on the primary key here; only the first one gets a row back
+            int claimed = jdbcTemplate.update("INSERT INTO data_migrations (name) VALUES (?) ON CONFLICT DO NOTHING",
+                    COMMENT_COUNT_BACKFILL);
+            if (claimed == 0) {
+                return null;
+            }
+            return jdbcTemplate.update("UPDATE posts p SET comment_count = c.total " +
+                    "FROM (SELECT post_id, COUNT(*) AS total FROM comments WHERE NOT deleted GROUP BY post_id) c " +
+                    "WHERE p.id = c.post_id");
+        });
+        if (updated != null) {
+            log.info("Backfilled comment counts on {} posts", updated);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.postzen.config;
+
+import com.postzen.entity.Post;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the post columns and indexes that Hibernate's schema update cannot express.
+ * The search tsvector is a stored generated column, so PostgreSQL keeps it current on every
+ * write to a post's title or content, and the partial GIN index only covers published posts.
+ * The text_pattern_ops index lets slug prefix lookups use an index under any collation.
+ * Posts written before listings read the stored excerpt get one by {@link Post#excerptOf}'s rule;
+ * this only touches rows without an excerpt, so it is a no-op once done.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class PostSchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                "GENERATED ALWAYS AS (" +
+                "setweight(to_tsvector('english', coalesce(title, '')), 'A') || " +
+                "setweight(to_tsvector('english', coalesce(content, '')), 'B')) STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_posts_search ON posts " +
+                "USING GIN (search_vector) WHERE status = 'PUBLISHED'");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_posts_slug_pattern ON posts (slug text_pattern_ops)");
+        log.info("Post search and slug indexes ready");
+
+        int filled = jdbcTemplate.update("UPDATE posts SET excerpt = CASE WHEN length(content) > ? " +
+                "THEN substring(content, 1, ?) || '...' ELSE content END WHERE excerpt IS NULL",
+                Post.EXCERPT_LENGTH, Post.EXCERPT_LENGTH);
+        if (filled > 0) {
+            log.info("Backfilled excerpts on {} posts", filled);
+        }
+    }
+}
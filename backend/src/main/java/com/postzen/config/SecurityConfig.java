@@ -51,6 +51,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/files/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/{postId}/comments").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/posts/{postId}/comments/thread").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/autocomplete").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/sitemap.xml", "/sitemap-*.xml", "/feed.xml").permitAll()
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // Authenticated endpoints
@@ -1,17 +1,34 @@
 package com.postzen.controller;
 
+import com.postzen.dto.response.CacheStatsResponse;
+import com.postzen.dto.response.CodecBenchmarkResponse;
+import com.postzen.dto.response.ImportResultResponse;
+import com.postzen.dto.response.MessageResponse;
 import com.postzen.dto.response.UserResponse;
+import com.postzen.service.CacheCodecBenchmark;
+import com.postzen.service.CommentService;
+import com.postzen.service.PostExportService;
+import com.postzen.service.PostImportService;
+import com.postzen.service.PostLocalCache;
+import com.postzen.service.SyndicationService;
 import com.postzen.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -22,6 +39,12 @@ import java.util.UUID;
 public class AdminController {
 
     private final UserService userService;
+    private final PostLocalCache postLocalCache;
+    private final CommentService commentService;
+    private final CacheCodecBenchmark cacheCodecBenchmark;
+    private final PostImportService postImportService;
+    private final PostExportService postExportService;
+    private final SyndicationService syndicationService;
 
     @GetMapping("/users")
     @Operation(summary = "Get all users (admin only)")
@@ -35,4 +58,48 @@ public class AdminController {
     public ResponseEntity<UserResponse> getUserById(@PathVariable UUID id) {
         return ResponseEntity.ok(userService.getUserById(id));
     }
+
+    @GetMapping("/cache/posts")
+    @Operation(summary = "Get in-process post cache statistics (admin only)")
+    public ResponseEntity<CacheStatsResponse> getPostCacheStats() {
+        return ResponseEntity.ok(postLocalCache.stats());
+    }
+
+    @GetMapping("/cache/codecs")
+    @Operation(summary = "Benchmark cache codecs on recent published posts (admin only)")
+    public ResponseEntity<List<CodecBenchmarkResponse>> benchmarkCacheCodecs(
+            @RequestParam(defaultValue = "100") int samples) {
+        return ResponseEntity.ok(cacheCodecBenchmark.run(samples));
+    }
+
+    @PostMapping("/posts/recount-comments")
+    @Operation(summary = "Repair stored comment and reply counts from the comments table (admin only)")
+    public ResponseEntity<MessageResponse> recountComments() {
+        int updated = commentService.recountCommentCounts();
+        return ResponseEntity.ok(MessageResponse.of("Comment counts recounted for " + updated + " posts"));
+    }
+
+    @PostMapping(value = "/posts/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Bulk import posts from NDJSON, one post per line (admin only)")
+    public ResponseEntity<ImportResultResponse> importPosts(HttpServletRequest request) throws IOException {
+        // Read straight from the request so the payload is streamed, never buffered whole
+        return ResponseEntity.ok(postImportService.importPosts(request.getInputStream()));
+    }
+
+    @GetMapping("/posts/export")
+    @Operation(summary = "Stream every post with its comments as NDJSON, optionally gzipped (admin only)")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(defaultValue = "false") boolean gzip) {
+        String filename = gzip ? "posts.ndjson.gz" : "posts.ndjson";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : "application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> postExportService.export(out, gzip));
+    }
+
+    @PostMapping("/syndication/rebuild")
+    @Operation(summary = "Rebuild the sitemap and RSS feed from the database (admin only)")
+    public ResponseEntity<MessageResponse> rebuildSyndication() {
+        syndicationService.requestRebuild();
+        return ResponseEntity.ok(MessageResponse.of("Sitemap and feed rebuild requested"));
+    }
 }
@@ -0,0 +1,26 @@
+package com.postzen.controller;
+
+import com.postzen.dto.response.AutocompleteResponse;
+import com.postzen.service.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete", description = "Search-as-you-type suggestions")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    @Operation(summary = "Suggest post titles and usernames starting with a prefix")
+    public ResponseEntity<AutocompleteResponse> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, limit));
+    }
+}
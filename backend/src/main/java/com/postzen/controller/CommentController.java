@@ -2,15 +2,18 @@ package com.postzen.controller;
 
 import com.postzen.dto.request.CreateCommentRequest;
 import com.postzen.dto.response.CommentResponse;
+import com.postzen.dto.response.CursorResponse;
 import com.postzen.dto.response.MessageResponse;
+import com.postzen.service.CachedResponse;
 import com.postzen.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,11 +28,25 @@ public class CommentController {
     private final CommentService commentService;
 
     @GetMapping("/posts/{postId}/comments")
-    @Operation(summary = "Get comments for a post")
-    public ResponseEntity<Page<CommentResponse>> getComments(
+    @Operation(summary = "Get comments for a post, newest first, with cursor pagination")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = CursorResponse.class)))
+    public ResponseEntity<byte[]> getComments(
             @PathVariable UUID postId,
-            @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId, pageable));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return CachedResponse.toResponseEntity(commentService.getCommentsByPostId(postId, cursor, size, ifNoneMatch));
+    }
+
+    @GetMapping("/posts/{postId}/comments/thread")
+    @Operation(summary = "Get a post's comments as reply threads, depth-limited and cursor-paginated")
+    public ResponseEntity<CursorResponse<CommentResponse>> getThread(
+            @PathVariable UUID postId,
+            @RequestParam(required = false) UUID parentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "3") int depth) {
+        return ResponseEntity.ok(commentService.getThread(postId, parentId, cursor, size, depth));
     }
 
     @PostMapping("/posts/{postId}/comments")
@@ -0,0 +1,46 @@
+package com.postzen.controller;
+
+import com.postzen.dto.response.CursorResponse;
+import com.postzen.dto.response.MessageResponse;
+import com.postzen.dto.response.PostSummaryResponse;
+import com.postzen.service.FollowService;
+import com.postzen.service.TimelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Follows", description = "Follow graph and home timeline endpoints")
+public class FollowController {
+
+    private final FollowService followService;
+    private final TimelineService timelineService;
+
+    @PostMapping("/users/{userId}/follow")
+    @Operation(summary = "Follow a user")
+    public ResponseEntity<MessageResponse> follow(@PathVariable UUID userId) {
+        followService.follow(userId);
+        return ResponseEntity.ok(MessageResponse.of("User followed successfully"));
+    }
+
+    @DeleteMapping("/users/{userId}/follow")
+    @Operation(summary = "Unfollow a user")
+    public ResponseEntity<MessageResponse> unfollow(@PathVariable UUID userId) {
+        followService.unfollow(userId);
+        return ResponseEntity.ok(MessageResponse.of("User unfollowed successfully"));
+    }
+
+    @GetMapping("/timeline")
+    @Operation(summary = "Get posts from followed users with cursor pagination")
+    public ResponseEntity<CursorResponse<PostSummaryResponse>> getTimeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(timelineService.getTimeline(cursor, size));
+    }
+}
@@ -1,22 +1,38 @@
 package com.postzen.controller;
 
+import com.postzen.dto.request.AutosaveRequest;
 import com.postzen.dto.request.CreatePostRequest;
 import com.postzen.dto.request.UpdatePostRequest;
+import com.postzen.dto.response.AutosaveResponse;
+import com.postzen.dto.response.CursorResponse;
 import com.postzen.dto.response.MessageResponse;
 import com.postzen.dto.response.PostResponse;
+import com.postzen.dto.response.PostRevisionResponse;
+import com.postzen.dto.response.PostSearchResponse;
 import com.postzen.dto.response.PostSummaryResponse;
+import com.postzen.dto.response.RevisionDiffResponse;
+import com.postzen.service.AutosaveService;
+import com.postzen.service.CachedResponse;
+import com.postzen.service.PostRevisionService;
 import com.postzen.service.PostService;
+import com.postzen.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -26,12 +42,42 @@ import java.util.UUID;
 public class PostController {
 
     private final PostService postService;
+    private final TrendingService trendingService;
+    private final PostRevisionService postRevisionService;
+    private final AutosaveService autosaveService;
 
     @GetMapping
     @Operation(summary = "Get published posts with pagination")
-    public ResponseEntity<Page<PostSummaryResponse>> getPosts(
-            @PageableDefault(size = 10, sort = "publishedAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return ResponseEntity.ok(postService.getPublishedPosts(pageable));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = Page.class)))
+    public ResponseEntity<byte[]> getPosts(
+            @PageableDefault(size = 10, sort = "publishedAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return CachedResponse.toResponseEntity(postService.getPublishedPosts(pageable, ifNoneMatch));
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get published posts with cursor pagination")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = CursorResponse.class)))
+    public ResponseEntity<byte[]> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return CachedResponse.toResponseEntity(postService.getPublishedFeed(cursor, size, ifNoneMatch));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Full-text search over published posts, ranked by relevance")
+    public ResponseEntity<CursorResponse<PostSearchResponse>> searchPosts(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postService.searchPosts(q, cursor, size));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get posts trending over the last day, ranked by decayed reads and comments")
+    public ResponseEntity<List<PostSummaryResponse>> getTrending(@RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(trendingService.getTrending(size));
     }
 
     @GetMapping("/author/{authorId}")
@@ -44,8 +90,12 @@ public class PostController {
 
     @GetMapping("/{slug}")
     @Operation(summary = "Get post by slug")
-    public ResponseEntity<PostResponse> getPostBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(postService.getPostBySlug(slug));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = PostResponse.class)))
+    public ResponseEntity<byte[]> getPostBySlug(
+            @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request) {
+        return CachedResponse.toResponseEntity(postService.getPostBySlug(slug, request.getRemoteAddr(), ifNoneMatch));
     }
 
     @PostMapping
@@ -62,10 +112,54 @@ public class PostController {
         return ResponseEntity.ok(postService.updatePost(id, request));
     }
 
+    @PutMapping("/{id}/autosave")
+    @Operation(summary = "Autosave a draft; buffered and written to the post after a pause or on explicit save")
+    public ResponseEntity<AutosaveResponse> autosave(
+            @PathVariable UUID id,
+            @Valid @RequestBody AutosaveRequest request) {
+        return ResponseEntity.ok(autosaveService.autosave(id, request));
+    }
+
+    @GetMapping("/{id}/autosave")
+    @Operation(summary = "Get the autosaved draft not yet written to the post")
+    public ResponseEntity<AutosaveResponse> getAutosave(@PathVariable UUID id) {
+        return ResponseEntity.ok(autosaveService.getDraft(id));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a post")
     public ResponseEntity<MessageResponse> deletePost(@PathVariable UUID id) {
         postService.deletePost(id);
         return ResponseEntity.ok(MessageResponse.of("Post deleted successfully"));
     }
+
+    @GetMapping("/{id}/revisions")
+    @Operation(summary = "List a post's revisions, newest first (author or admin)")
+    public ResponseEntity<CursorResponse<PostRevisionResponse>> getRevisions(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postRevisionService.getHistory(id, cursor, size));
+    }
+
+    @GetMapping("/{id}/revisions/{revision}")
+    @Operation(summary = "Get one revision of a post with its full content (author or admin)")
+    public ResponseEntity<PostRevisionResponse> getRevision(@PathVariable UUID id, @PathVariable int revision) {
+        return ResponseEntity.ok(postRevisionService.getRevision(id, revision));
+    }
+
+    @GetMapping("/{id}/revisions/diff")
+    @Operation(summary = "Line diff between two revisions of a post (author or admin)")
+    public ResponseEntity<RevisionDiffResponse> diffRevisions(
+            @PathVariable UUID id,
+            @RequestParam int from,
+            @RequestParam int to) {
+        return ResponseEntity.ok(postRevisionService.diff(id, from, to));
+    }
+
+    @PostMapping("/{id}/revisions/{revision}/restore")
+    @Operation(summary = "Restore a past revision's title and content as a new revision")
+    public ResponseEntity<PostResponse> restoreRevision(@PathVariable UUID id, @PathVariable int revision) {
+        return ResponseEntity.ok(postService.restoreRevision(id, revision));
+    }
 }
@@ -0,0 +1,153 @@
+package com.postzen.controller;
+
+import com.postzen.security.SecurityUtils;
+import com.postzen.service.StaticSite;
+import com.postzen.service.ViewTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serves anonymous reads of posts and the first feed pages straight from the pre-rendered
+ * files when {@code app.prerender.enabled} is on. Runs after the security chain, so CORS and
+ * authentication have been applied; signed-in readers and anything not pre-rendered fall
+ * through to the controllers. Bodies are handed to Tomcat's sendfile when the connector
+ * supports it, otherwise transferred from a {@link FileChannel}.
+ */
+@Component
+@RequiredArgsConstructor
+public class StaticPostFilter extends OncePerRequestFilter {
+
+    private static final String POSTS_PATH = "/api/posts";
+    private static final String FEED_PATH = "/api/posts/feed";
+    private static final String PAGE_PARAM = "page=";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StaticSite staticSite;
+    private final SecurityUtils securityUtils;
+    private final ViewTracker viewTracker;
+
+    @Value("${app.prerender.feed-pages}")
+    private int feedPages;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !staticSite.isEnabled() || !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String slug = slugOf(path);
+        String name = slug != null ? StaticSite.postName(slug) : feedName(path, request.getQueryString());
+
+        StaticSite.StaticFile file = name != null && securityUtils.getCurrentPrincipalName() == null
+                ? staticSite.open(name) : null;
+        if (file == null || !serve(file, request, response)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (slug != null && response.getStatus() == HttpServletResponse.SC_OK) {
+            viewTracker.record(slug, "a:" + request.getRemoteAddr());
+        }
+    }
+
+    private String slugOf(String path) {
+        if (!path.startsWith(POSTS_PATH + "/") || path.equals(FEED_PATH)) {
+            return null;
+        }
+        String slug = path.substring(POSTS_PATH.length() + 1);
+        return StaticSite.isValidSlug(slug) ? slug : null;
+    }
+
+    private String feedName(String path, String query) {
+        if (path.equals(FEED_PATH)) {
+            return query == null ? StaticSite.feedHeadName() : null;
+        }
+        if (!path.equals(POSTS_PATH)) {
+            return null;
+        }
+        if (query == null) {
+            return StaticSite.feedPageName(0);
+        }
+        if (!query.startsWith(PAGE_PARAM)) {
+            return null;
+        }
+        try {
+            int page = Integer.parseInt(query.substring(PAGE_PARAM.length()));
+            return page >= 0 && page < feedPages ? StaticSite.feedPageName(page) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the file as the response; false when the version vanished before it could be opened.
+     */
+    private boolean serve(StaticSite.StaticFile file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = file.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? file.getGzipEtag() : file.getEtag();
+
+        if (file.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            setCacheHeaders(response, etag);
+            return true;
+        }
+
+        Path body = gzip ? file.getGzip() : file.getBody();
+        try (FileChannel channel = FileChannel.open(body, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLengthLong(size);
+            setCacheHeaders(response, etag);
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+
+            // Versions are immutable and the previous one outlives a rewrite, so the name stays valid for Tomcat
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, body.toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return true;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, out);
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static void setCacheHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+}
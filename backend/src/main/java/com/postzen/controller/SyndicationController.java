@@ -0,0 +1,86 @@
+package com.postzen.controller;
+
+import com.postzen.exception.ResourceNotFoundException;
+import com.postzen.service.SyndicationDocument;
+import com.postzen.service.SyndicationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Syndication", description = "Sitemaps and the RSS feed, for crawlers and feed readers")
+public class SyndicationController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final SyndicationService syndicationService;
+
+    @GetMapping("/sitemap.xml")
+    @Operation(summary = "Sitemap of published posts, or a sitemap index once there are more than 50,000")
+    public ResponseEntity<byte[]> getSitemap(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        return serve(syndicationService.getSitemap(), XML, acceptEncoding, request);
+    }
+
+    @GetMapping("/sitemap-{shard:\\d+}.xml")
+    @Operation(summary = "One shard of the sitemap index")
+    public ResponseEntity<byte[]> getSitemapShard(
+            @PathVariable int shard,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        return serve(syndicationService.getSitemapShard(shard), XML, acceptEncoding, request);
+    }
+
+    @GetMapping("/feed.xml")
+    @Operation(summary = "RSS 2.0 feed of the latest published posts")
+    public ResponseEntity<byte[]> getFeed(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        return serve(syndicationService.getFeed(), RSS, acceptEncoding, request);
+    }
+
+    /**
+     * 304 when the client's ETag or Last-Modified is current; otherwise the stored gzip body as is,
+     * or inflated for the rare client that does not accept gzip.
+     */
+    private static ResponseEntity<byte[]> serve(SyndicationDocument document, MediaType type,
+            String acceptEncoding, WebRequest request) {
+        if (document == null) {
+            throw new ResourceNotFoundException("Not generated yet");
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? document.getGzipEtag() : document.getEtag();
+        if (request.checkNotModified(etag, document.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        byte[] body = gzip ? document.getGzip() : document.decompress();
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(type)
+                .contentLength(body.length)
+                .eTag(etag)
+                .lastModified(document.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ok.body(body);
+    }
+}
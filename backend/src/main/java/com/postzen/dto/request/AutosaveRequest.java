@@ -0,0 +1,13 @@
+package com.postzen.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class AutosaveRequest {
+
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    private String title;
+
+    private String content;
+}
@@ -3,9 +3,14 @@ package com.postzen.dto.request;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
+import java.util.UUID;
+
 @Data
 public class CreateCommentRequest {
 
     @NotBlank(message = "Comment content is required")
     private String content;
+
+    // The comment being replied to; omit for a top-level comment
+    private UUID parentId;
 }
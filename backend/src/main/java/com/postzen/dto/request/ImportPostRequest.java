@@ -0,0 +1,33 @@
+package com.postzen.dto.request;
+
+import com.postzen.entity.Post;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an NDJSON post import. Timestamps are kept from the source system when given.
+ */
+@Data
+public class ImportPostRequest {
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    private String title;
+
+    @NotBlank(message = "Content is required")
+    private String content;
+
+    private Post.Status status = Post.Status.DRAFT;
+
+    // Defaults to the importing admin
+    private String authorUsername;
+
+    private LocalDateTime scheduledAt;
+
+    private LocalDateTime publishedAt;
+
+    private LocalDateTime createdAt;
+}
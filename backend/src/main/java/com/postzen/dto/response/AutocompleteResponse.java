@@ -0,0 +1,17 @@
+package com.postzen.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteResponse {
+    private List<SuggestionResponse> posts;
+    private List<SuggestionResponse> users;
+}
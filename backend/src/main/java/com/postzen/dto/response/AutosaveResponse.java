@@ -0,0 +1,22 @@
+package com.postzen.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutosaveResponse {
+    private UUID postId;
+    private long version;
+    private LocalDateTime savedAt;
+    // Only returned when reading the buffered draft back
+    private String title;
+    private String content;
+}
@@ -0,0 +1,20 @@
+package com.postzen.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodecBenchmarkResponse {
+    private String codec;
+    private int samples;
+    private long jsonBytes;
+    private long encodedBytes;
+    private double sizeRatio;
+    private double encodeMicrosPerEntry;
+    private double decodeMicrosPerEntry;
+}
@@ -1,12 +1,15 @@
 package com.postzen.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.postzen.entity.Comment;
+import com.postzen.repository.CommentThreadView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -15,19 +18,47 @@ import java.util.UUID;
 @AllArgsConstructor
 public class CommentResponse {
     private UUID id;
+    private UUID parentId;
+    private int depth;
     private String content;
     private LocalDateTime createdAt;
     private PostResponse.AuthorDto author;
+    private int replyCount;
+    private boolean deleted;
+
+    // Only set in thread listings; replies beyond the requested depth are left out, see replyCount
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentResponse> replies;
 
     public static CommentResponse fromEntity(Comment comment) {
         return CommentResponse.builder()
                 .id(comment.getId())
-                .content(comment.getContent())
+                .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
+                .depth(comment.getDepth())
+                .content(comment.isDeleted() ? null : comment.getContent())
                 .createdAt(comment.getCreatedAt())
-                .author(PostResponse.AuthorDto.builder()
+                .author(comment.isDeleted() ? null : PostResponse.AuthorDto.builder()
                         .id(comment.getAuthor().getId())
                         .username(comment.getAuthor().getUsername())
                         .build())
+                .replyCount(comment.getReplyCount())
+                .deleted(comment.isDeleted())
+                .build();
+    }
+
+    public static CommentResponse fromView(CommentThreadView view) {
+        return CommentResponse.builder()
+                .id(view.getId())
+                .parentId(view.getParentId())
+                .depth(view.getDepth())
+                .content(view.isDeleted() ? null : view.getContent())
+                .createdAt(view.getCreatedAt())
+                .author(view.isDeleted() ? null : PostResponse.AuthorDto.builder()
+                        .id(view.getAuthorId())
+                        .username(view.getAuthorUsername())
+                        .build())
+                .replyCount(view.getReplyCount())
+                .deleted(view.isDeleted())
                 .build();
     }
 }
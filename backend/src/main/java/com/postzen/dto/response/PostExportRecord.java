@@ -0,0 +1,87 @@
+package com.postzen.dto.response;
+
+import com.postzen.entity.Comment;
+import com.postzen.entity.Post;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One line of the NDJSON post export. The fields shared with the import format have the same
+ * names, so a line can be fed to {@code POST /api/admin/posts/import}, but the import only reads
+ * title, content, status, author and dates: posts get new ids and slugs, and comments are not
+ * imported. This is a backup and analytics format, not a restorable dump.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostExportRecord {
+    private UUID id;
+    private String title;
+    private String content;
+    private String slug;
+    private Post.Status status;
+    private UUID authorId;
+    private String authorUsername;
+    private LocalDateTime scheduledAt;
+    private LocalDateTime publishedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private int commentCount;
+    private long viewCount;
+    private long uniqueReaders;
+    private List<CommentRecord> comments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CommentRecord {
+        private UUID id;
+        private UUID parentId;
+        private UUID authorId;
+        private String authorUsername;
+        private String content;
+        // A placeholder left for the replies of a deleted comment; its content is empty
+        private boolean deleted;
+        private LocalDateTime createdAt;
+
+        public static CommentRecord fromEntity(Comment comment) {
+            return CommentRecord.builder()
+                    .id(comment.getId())
+                    .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
+                    .authorId(comment.getAuthor().getId())
+                    .authorUsername(comment.getAuthor().getUsername())
+                    .content(comment.getContent())
+                    .deleted(comment.isDeleted())
+                    .createdAt(comment.getCreatedAt())
+                    .build();
+        }
+    }
+
+    public static PostExportRecord fromEntity(Post post, List<CommentRecord> comments) {
+        return PostExportRecord.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .slug(post.getSlug())
+                .status(post.getStatus())
+                .authorId(post.getAuthor().getId())
+                .authorUsername(post.getAuthor().getUsername())
+                .scheduledAt(post.getScheduledAt())
+                .publishedAt(post.getPublishedAt())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .commentCount(post.getCommentCount())
+                .viewCount(post.getViewCount())
+                .uniqueReaders(post.getUniqueReaders())
+                .comments(comments)
+                .build();
+    }
+}
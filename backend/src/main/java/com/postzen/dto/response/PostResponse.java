@@ -17,6 +17,7 @@ public class PostResponse {
     private UUID id;
     private String title;
     private String content;
+    private String html;
     private String slug;
     private Post.Status status;
     private LocalDateTime scheduledAt;
@@ -25,6 +26,8 @@ public class PostResponse {
     private LocalDateTime updatedAt;
     private AuthorDto author;
     private int commentCount;
+    private long viewCount;
+    private long uniqueReaders;
 
     @Data
     @Builder
@@ -35,11 +38,12 @@ public class PostResponse {
         private String username;
     }
 
-    public static PostResponse fromEntity(Post post) {
+    public static PostResponse fromEntity(Post post, String html) {
         return PostResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
+                .html(html)
                 .slug(post.getSlug())
                 .status(post.getStatus())
                 .scheduledAt(post.getScheduledAt())
@@ -50,7 +54,9 @@ public class PostResponse {
                         .id(post.getAuthor().getId())
                         .username(post.getAuthor().getUsername())
                         .build())
-                .commentCount(post.getComments() != null ? post.getComments().size() : 0)
+                .commentCount(post.getCommentCount())
+                .viewCount(post.getViewCount())
+                .uniqueReaders(post.getUniqueReaders())
                 .build();
     }
 }
@@ -0,0 +1,34 @@
+package com.postzen.dto.response;
+
+import com.postzen.repository.PostRevisionView;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostRevisionResponse {
+    private int revision;
+    private String title;
+    private int contentLength;
+    private String editorUsername;
+    private LocalDateTime createdAt;
+    // Only set when a single revision is requested; history listings leave it out
+    private String content;
+
+    public static PostRevisionResponse fromView(PostRevisionView view, String content) {
+        return PostRevisionResponse.builder()
+                .revision(view.getRevision())
+                .title(view.getTitle())
+                .contentLength(view.getContentLength())
+                .editorUsername(view.getEditorUsername())
+                .createdAt(view.getCreatedAt())
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.postzen.dto.response;
+
+import com.postzen.repository.PostSearchView;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchResponse {
+    private UUID id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private LocalDateTime publishedAt;
+    private PostResponse.AuthorDto author;
+    private int commentCount;
+    // HTML-escaped fragment of the content with matches wrapped in <mark>
+    private String highlight;
+
+    public static PostSearchResponse fromView(PostSearchView view) {
+        return PostSearchResponse.builder()
+                .id(view.getId())
+                .title(view.getTitle())
+                .slug(view.getSlug())
+                .excerpt(view.getExcerpt())
+                .publishedAt(view.getPublishedAt())
+                .author(PostResponse.AuthorDto.builder()
+                        .id(view.getAuthorId())
+                        .username(view.getAuthorUsername())
+                        .build())
+                .commentCount(view.getCommentCount())
+                .highlight(toHtml(view.getHighlight()))
+                .build();
+    }
+
+    private static String toHtml(String highlight) {
+        if (highlight == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(highlight)
+                .replace(String.valueOf(PostSearchView.HIGHLIGHT_START), "<mark>")
+                .replace(String.valueOf(PostSearchView.HIGHLIGHT_END), "</mark>");
+    }
+}
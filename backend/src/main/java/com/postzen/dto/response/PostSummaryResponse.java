@@ -1,6 +1,7 @@
 package com.postzen.dto.response;
 
 import com.postzen.entity.Post;
+import com.postzen.repository.PostSummaryView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,10 +23,11 @@ public class PostSummaryResponse {
     private LocalDateTime publishedAt;
     private PostResponse.AuthorDto author;
     private int commentCount;
+    private long viewCount;
+    private long uniqueReaders;
 
     public static PostSummaryResponse fromEntity(Post post) {
-        String content = post.getContent();
-        String excerpt = content.length() > 200 ? content.substring(0, 200) + "..." : content;
+        String excerpt = post.getExcerpt() != null ? post.getExcerpt() : Post.excerptOf(post.getContent());
 
         return PostSummaryResponse.builder()
                 .id(post.getId())
@@ -38,7 +40,27 @@ public class PostSummaryResponse {
                         .id(post.getAuthor().getId())
                         .username(post.getAuthor().getUsername())
                         .build())
-                .commentCount(post.getComments() != null ? post.getComments().size() : 0)
+                .commentCount(post.getCommentCount())
+                .viewCount(post.getViewCount())
+                .uniqueReaders(post.getUniqueReaders())
+                .build();
+    }
+
+    public static PostSummaryResponse fromView(PostSummaryView view) {
+        return PostSummaryResponse.builder()
+                .id(view.getId())
+                .title(view.getTitle())
+                .slug(view.getSlug())
+                .excerpt(view.getExcerpt())
+                .status(view.getStatus())
+                .publishedAt(view.getPublishedAt())
+                .author(PostResponse.AuthorDto.builder()
+                        .id(view.getAuthorId())
+                        .username(view.getAuthorUsername())
+                        .build())
+                .commentCount(view.getCommentCount())
+                .viewCount(view.getViewCount())
+                .uniqueReaders(view.getUniqueReaders())
                 .build();
     }
 }
@@ -0,0 +1,40 @@
+package com.postzen.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevisionDiffResponse {
+    private int fromRevision;
+    private int toRevision;
+    private String fromTitle;
+    private String toTitle;
+    private int linesAdded;
+    private int linesRemoved;
+    private List<Chunk> chunks;
+
+    /**
+     * A run of lines. Unchanged runs carry only their line count, so a diff of a small edit to a
+     * long article stays small.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chunk {
+        private ChangeType type;
+        private int lines;
+        private String text;
+    }
+
+    public enum ChangeType {
+        EQUAL, INSERT, DELETE
+    }
+}
@@ -19,6 +19,8 @@ public class UserResponse {
     private String username;
     private User.Role role;
     private boolean emailVerified;
+    private long followerCount;
+    private long followingCount;
     private LocalDateTime createdAt;
 
     public static UserResponse fromEntity(User user) {
@@ -28,6 +30,8 @@ public class UserResponse {
                 .username(user.getUsername())
                 .role(user.getRole())
                 .emailVerified(user.isEmailVerified())
+                .followerCount(user.getFollowerCount())
+                .followingCount(user.getFollowingCount())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
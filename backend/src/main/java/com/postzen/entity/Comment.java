@@ -2,13 +2,21 @@ package com.postzen.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "comments")
+@DynamicUpdate
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_thread", columnList = "post_id, path"),
+        @Index(name = "idx_comments_post_created", columnList = "post_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,6 +24,9 @@ import java.util.UUID;
 @Builder
 public class Comment {
 
+    public static final int PATH_SEGMENT_LENGTH = 8;
+    public static final int MAX_DEPTH = 32;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -28,9 +39,48 @@ public class Comment {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
+    // Null for top-level comments. Only ever deleted with its replies by the post-wide bulk delete
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Comment parent;
+
+    // The ancestors' sibling numbers and then this comment's, each as fixed-width hex, so sorting
+    // a post's comments by path lists every thread depth-first in reply order. Byte-wise collation
+    // keeps that order, and a plain index range scan, whatever the database locale.
+    @Column(columnDefinition = "varchar(" + PATH_SEGMENT_LENGTH * MAX_DEPTH + ") COLLATE \"C\"")
+    private String path;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int depth = 0;
+
+    // Maintained with atomic UPDATEs from CommentService; @DynamicUpdate keeps entity saves from overwriting them
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int replyCount = 0;
+
+    // Numbers the next reply's path segment; unlike replyCount it never goes down
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int replySeq = 0;
+
+    // Comments with replies are blanked rather than removed, so the thread under them stays intact
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @Builder.Default
+    private boolean deleted = false;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    public static String pathSegment(int seq) {
+        return String.format("%0" + PATH_SEGMENT_LENGTH + "x", seq);
+    }
 }
@@ -0,0 +1,39 @@
+package com.postzen.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "follows", uniqueConstraints = {
+        @UniqueConstraint(name = Follow.UNIQUE_PAIR, columnNames = { "follower_id", "followee_id" })
+}, indexes = {
+        @Index(name = "idx_follows_followee", columnList = "followee_id, follower_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Follow {
+
+    public static final String UNIQUE_PAIR = "uk_follows_pair";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "follower_id", nullable = false)
+    private User follower;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "followee_id", nullable = false)
+    private User followee;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -2,7 +2,9 @@ package com.postzen.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -11,7 +13,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "posts")
+@DynamicUpdate
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_feed", columnList = "status, published_at DESC, id DESC"),
+        @Index(name = "idx_posts_schedule", columnList = "status, scheduled_at"),
+        @Index(name = "idx_posts_author_feed", columnList = "author_id, status, published_at DESC, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,6 +26,8 @@ import java.util.UUID;
 @Builder
 public class Post {
 
+    public static final int EXCERPT_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -33,6 +42,9 @@ public class Post {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
+    @Column(length = EXCERPT_LENGTH + 3)
+    private String excerpt;
+
     @Column(nullable = false, unique = true)
     private String slug;
 
@@ -45,6 +57,29 @@ public class Post {
 
     private LocalDateTime publishedAt;
 
+    // Maintained with atomic UPDATEs from CommentService; @DynamicUpdate keeps entity saves from overwriting it
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int commentCount = 0;
+
+    // Numbers top-level comments' path segments; see Comment.path
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int commentSeq = 0;
+
+    // Flushed in batches by ViewTracker, never written through the entity
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long viewCount = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long uniqueReaders = 0;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -59,6 +94,16 @@ public class Post {
     @Builder.Default
     private List<UploadedFile> files = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void refreshExcerpt() {
+        excerpt = excerptOf(content);
+    }
+
+    public static String excerptOf(String content) {
+        return content.length() > EXCERPT_LENGTH ? content.substring(0, EXCERPT_LENGTH) + "..." : content;
+    }
+
     public enum Status {
         DRAFT, SCHEDULED, PUBLISHED
     }
@@ -0,0 +1,75 @@
+package com.postzen.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One saved version of a post. Content is stored either as a full deflated snapshot or as a
+ * delta against the previous revision; {@code snapshotRevision} names the snapshot its delta
+ * chain starts from, so any revision is rebuilt from one snapshot plus the deltas after it.
+ */
+@Entity
+@Table(name = "post_revisions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_revisions_revision", columnNames = { "post_id", "revision" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Deleted with the post by the database, without loading the history
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    @Column(nullable = false)
+    private int revision;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private int snapshotRevision;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] data;
+
+    @Column(nullable = false)
+    private int contentLength;
+
+    // CRC32 of the UTF-8 content, checked when the revision is rebuilt; null for rows from before it was kept
+    private Long contentCrc;
+
+    // Stored bytes of the snapshot and every delta up to and including this revision
+    @Column(nullable = false)
+    private int chainBytes;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "editor_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private User editor;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public enum Kind {
+        SNAPSHOT, DELTA
+    }
+}
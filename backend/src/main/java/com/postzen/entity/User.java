@@ -2,7 +2,9 @@ package com.postzen.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -11,6 +13,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 @Getter
 @Setter
@@ -44,6 +47,24 @@ public class User {
 
     private LocalDateTime resetTokenExpiry;
 
+    // Maintained with atomic UPDATEs from FollowService; @DynamicUpdate keeps entity saves from overwriting them
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long followerCount = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long followingCount = 0;
+
+    // Set once the author reaches the fan-out threshold and never cleared: posts published from then
+    // on were not pushed, so they must keep being pulled even after followers drop below it again
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @Builder.Default
+    private boolean timelinePulled = false;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -1,17 +1,86 @@
 package com.postzen.repository;
 
 import com.postzen.entity.Comment;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
 
-    Page<Comment> findByPostIdOrderByCreatedAtDesc(UUID postId, Pageable pageable);
+    // Starts from the post, so a missing post yields no rows and a post without comments a single
+    // row of nulls: the existence check and the page come back from one query
+    String PAGE_SELECT = "SELECT c.id AS id, c.parent.id AS parentId, c.depth AS depth, c.path AS path, " +
+            "c.content AS content, c.deleted AS deleted, c.replyCount AS replyCount, c.createdAt AS createdAt, " +
+            "a.id AS authorId, a.username AS authorUsername " +
+            "FROM Post p LEFT JOIN Comment c ON c.post.id = p.id AND c.deleted = false ";
+
+    String PAGE_ORDER = "LEFT JOIN c.author a WHERE p.id = :postId ORDER BY c.createdAt DESC, c.id DESC";
+
+    @Query(PAGE_SELECT + PAGE_ORDER)
+    List<CommentThreadView> findLatestPage(@Param("postId") UUID postId, Pageable pageable);
+
+    @Query(PAGE_SELECT + "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " + PAGE_ORDER)
+    List<CommentThreadView> findPageAfter(@Param("postId") UUID postId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Pageable pageable);
 
     void deleteByPostId(UUID postId);
+
+    // One statement, so replies and the comments they answer go together without tripping the parent key
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id = :postId")
+    int deleteAllByPostIdInBulk(@Param("postId") UUID postId);
+
+    /**
+     * A post's comments with path in {@code (after, before)} and depth at most {@code maxDepth},
+     * in path order: threads depth-first, as one range scan of idx_comments_thread.
+     */
+    @Query("SELECT c.id AS id, c.parent.id AS parentId, c.depth AS depth, c.path AS path, c.content AS content, " +
+            "c.deleted AS deleted, c.replyCount AS replyCount, c.createdAt AS createdAt, " +
+            "a.id AS authorId, a.username AS authorUsername " +
+            "FROM Comment c JOIN c.author a WHERE c.post.id = :postId AND c.path > :after AND c.path < :before " +
+            "AND c.depth <= :maxDepth ORDER BY c.path")
+    List<CommentThreadView> findThread(@Param("postId") UUID postId, @Param("after") String after,
+            @Param("before") String before, @Param("maxDepth") int maxDepth, Pageable pageable);
+
+    // Counts a new reply and numbers it in one row update; read the number back with findReplySeq
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + 1, c.replySeq = c.replySeq + 1 WHERE c.id = :id")
+    void addReply(@Param("id") UUID id);
+
+    @Query("SELECT c.replySeq FROM Comment c WHERE c.id = :id")
+    int findReplySeq(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :id")
+    void incrementReplyCount(@Param("id") UUID id, @Param("delta") int delta);
+
+    // Checked in the row itself, so of two replies deleted at once the later one sees the count reach 0
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id = :id AND c.deleted = true AND c.replyCount = 0")
+    int deleteIfEmptyPlaceholder(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "UPDATE comments c SET reply_count = (SELECT COUNT(*) FROM comments r WHERE r.parent_id = c.id)",
+            nativeQuery = true)
+    int recountReplies();
+
+    // Same post order as PostRepository.streamAllOrderById, so the two cursors can be merged
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + PostRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author ORDER BY c.post.id, c.createdAt, c.id")
+    Stream<Comment> streamAllOrderByPostId();
 }
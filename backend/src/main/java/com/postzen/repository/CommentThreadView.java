@@ -0,0 +1,30 @@
+package com.postzen.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A comment as listed in a thread, with its author's name but not the author entity.
+ */
+public interface CommentThreadView {
+
+    UUID getId();
+
+    UUID getParentId();
+
+    int getDepth();
+
+    String getPath();
+
+    String getContent();
+
+    boolean isDeleted();
+
+    int getReplyCount();
+
+    LocalDateTime getCreatedAt();
+
+    UUID getAuthorId();
+
+    String getAuthorUsername();
+}
@@ -0,0 +1,33 @@
+package com.postzen.repository;
+
+import com.postzen.entity.Follow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, UUID> {
+
+    boolean existsByFollowerIdAndFolloweeId(UUID followerId, UUID followeeId);
+
+    // A count rather than a loaded entity, so of two concurrent unfollows only one sees a row
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.followee.id = :followeeId")
+    int deleteByPair(@Param("followerId") UUID followerId, @Param("followeeId") UUID followeeId);
+
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.followee.id = :followeeId AND f.follower.id > :after " +
+            "ORDER BY f.follower.id")
+    List<UUID> findFollowerIdsAfter(@Param("followeeId") UUID followeeId, @Param("after") UUID after,
+            Pageable pageable);
+
+    @Query("SELECT f.followee.id FROM Follow f WHERE f.follower.id = :followerId " +
+            "AND (f.followee.timelinePulled = true OR f.followee.followerCount >= :minFollowers)")
+    List<UUID> findPulledFolloweeIds(@Param("followerId") UUID followerId,
+            @Param("minFollowers") long minFollowers);
+}
@@ -1,34 +1,190 @@
 package com.postzen.repository;
 
 import com.postzen.entity.Post;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, UUID> {
 
     Optional<Post> findBySlug(String slug);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
+    Optional<Post> findByIdForUpdate(@Param("id") UUID id);
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Forward-only cursor for the export; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p JOIN FETCH p.author ORDER BY p.id")
+    Stream<Post> streamAllOrderById();
+
     Page<Post> findByStatus(Post.Status status, Pageable pageable);
 
-    Page<Post> findByAuthorId(UUID authorId, Pageable pageable);
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.title AS title, p.slug AS slug, p.excerpt AS excerpt, " +
+            "p.status AS status, p.publishedAt AS publishedAt, p.commentCount AS commentCount, " +
+            "p.viewCount AS viewCount, p.uniqueReaders AS uniqueReaders, " +
+            "a.id AS authorId, a.username AS authorUsername FROM Post p JOIN p.author a ";
+
+    @Query(value = SUMMARY_SELECT + "WHERE a.id = :authorId",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.author.id = :authorId")
+    Page<PostSummaryView> findSummariesByAuthorId(@Param("authorId") UUID authorId, Pageable pageable);
 
-    Page<Post> findByAuthorIdAndStatus(UUID authorId, Post.Status status, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE a.id = :authorId AND p.status = :status",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.author.id = :authorId AND p.status = :status")
+    Page<PostSummaryView> findSummariesByAuthorIdAndStatus(@Param("authorId") UUID authorId,
+            @Param("status") Post.Status status, Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE p.status = 'SCHEDULED' AND p.scheduledAt <= :now")
-    List<Post> findScheduledPostsToPublish(@Param("now") LocalDateTime now);
+    /**
+     * Publishes up to {@code limit} due posts in one statement. SKIP LOCKED lets concurrent
+     * publishers take disjoint batches instead of blocking on (or re-publishing) the same rows.
+     */
+    @Transactional
+    @Query(value = "UPDATE posts SET status = 'PUBLISHED', published_at = :now, updated_at = :now " +
+            "WHERE id IN (SELECT id FROM posts WHERE status = 'SCHEDULED' AND scheduled_at <= :now " +
+            "ORDER BY scheduled_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, title, slug, published_at AS \"publishedAt\", author_id AS \"authorId\"",
+            nativeQuery = true)
+    List<PublishedPostView> publishDueScheduledPosts(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT p.id AS id, p.scheduledAt AS scheduledAt FROM Post p " +
+            "WHERE p.status = 'SCHEDULED' AND p.scheduledAt <= :until")
+    List<PostScheduleView> findScheduledUntil(@Param("until") LocalDateTime until);
 
     boolean existsBySlug(String slug);
 
-    @Query("SELECT p FROM Post p WHERE p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC")
-    Page<Post> findPublishedPosts(Pageable pageable);
+    @Query(value = "SELECT BOOL_OR(p.slug = :base) AS \"taken\", " +
+            "MAX(CASE WHEN p.slug = :base THEN 0 ELSE CAST(SUBSTRING(p.slug, LENGTH(:base) + 2) AS INTEGER) END) " +
+            "AS \"maxSuffix\" FROM posts p WHERE p.slug LIKE :prefix ESCAPE '!' AND p.slug ~ :pattern",
+            nativeQuery = true)
+    SlugUsageView findSlugUsage(@Param("base") String base, @Param("prefix") String prefix,
+            @Param("pattern") String pattern);
+
+    @Query("SELECT p.slug FROM Post p WHERE p.slug > :after ORDER BY p.slug")
+    List<String> findSlugsAfter(@Param("after") String after, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.publishedAt AS publishedAt " +
+            "FROM Post p WHERE p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC")
+    List<PostTitleView> findPublishedTitles(Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC")
+    List<Post> findRecentPublished(Pageable pageable);
+
+    String SYNDICATION_SELECT = "SELECT p.id AS id, p.slug AS slug, p.title AS title, p.excerpt AS excerpt, " +
+            "a.username AS authorUsername, p.publishedAt AS publishedAt, p.updatedAt AS updatedAt " +
+            "FROM Post p JOIN p.author a ";
+
+    @Query(SYNDICATION_SELECT + "WHERE p.status = 'PUBLISHED' AND p.id IN :ids")
+    List<PostSyndicationView> findPublishedSyndicationViews(@Param("ids") Collection<UUID> ids);
+
+    @Query(SYNDICATION_SELECT + "WHERE p.status = 'PUBLISHED' AND p.id > :after ORDER BY p.id")
+    List<PostSyndicationView> findPublishedSyndicationViewsAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query(SYNDICATION_SELECT + "WHERE p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC, p.id DESC")
+    List<PostSyndicationView> findRecentSyndicationViews(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.status = 'PUBLISHED'")
+    Page<PostSummaryView> findPublishedSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC, p.id DESC")
+    Slice<PostSummaryView> findPublishedFeed(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' " +
+            "AND (p.publishedAt < :publishedAt OR (p.publishedAt = :publishedAt AND p.id < :id)) " +
+            "ORDER BY p.publishedAt DESC, p.id DESC")
+    Slice<PostSummaryView> findPublishedFeedAfter(@Param("publishedAt") LocalDateTime publishedAt,
+            @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.slug AS slug FROM Post p WHERE p.slug IN :slugs AND p.status = 'PUBLISHED'")
+    List<PostSlugView> findPublishedIdsBySlugs(@Param("slugs") Collection<String> slugs);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids AND p.status = 'PUBLISHED'")
+    List<PostSummaryView> findPublishedSummariesByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :authorIds AND p.status = 'PUBLISHED' " +
+            "ORDER BY p.publishedAt DESC, p.id DESC")
+    List<PostSummaryView> findPublishedFeedByAuthors(@Param("authorIds") Collection<UUID> authorIds,
+            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :authorIds AND p.status = 'PUBLISHED' " +
+            "AND (p.publishedAt < :publishedAt OR (p.publishedAt = :publishedAt AND p.id < :id)) " +
+            "ORDER BY p.publishedAt DESC, p.id DESC")
+    List<PostSummaryView> findPublishedFeedByAuthorsAfter(@Param("authorIds") Collection<UUID> authorIds,
+            @Param("publishedAt") LocalDateTime publishedAt, @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.publishedAt AS publishedAt " +
+            "FROM Post p WHERE p.author.id = :authorId AND p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC")
+    List<PostTitleView> findPublishedTitlesByAuthor(@Param("authorId") UUID authorId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
+    void incrementCommentCount(@Param("id") UUID id, @Param("delta") int delta);
+
+    // Counts a new top-level comment and numbers it in one row update; read the number back with findCommentSeq
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + 1, p.commentSeq = p.commentSeq + 1 WHERE p.id = :id")
+    void addTopLevelComment(@Param("id") UUID id);
+
+    @Query("SELECT p.commentSeq FROM Post p WHERE p.id = :id")
+    int findCommentSeq(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "UPDATE posts p SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id AND NOT c.deleted)",
+            nativeQuery = true)
+    int recountComments();
+
+    // Matches are delimited by private-use characters stripped from the content beforehand, so the
+    // headline stays plain text and only PostSearchResponse turns the delimiters into markup
+    String HIGHLIGHT_MARKERS = "chr(" + (int) PostSearchView.HIGHLIGHT_START + ") || chr("
+            + (int) PostSearchView.HIGHLIGHT_END + ")";
+
+    String SEARCH_SELECT = "SELECT p.id AS \"id\", p.title AS \"title\", p.slug AS \"slug\", " +
+            "p.excerpt AS \"excerpt\", " +
+            "p.published_at AS \"publishedAt\", p.comment_count AS \"commentCount\", " +
+            "u.id AS \"authorId\", u.username AS \"authorUsername\", m.rank AS \"rank\", " +
+            "ts_headline('english', translate(p.content, " + HIGHLIGHT_MARKERS + ", ''), " +
+            "websearch_to_tsquery('english', :query), " +
+            "'StartSel=' || chr(" + (int) PostSearchView.HIGHLIGHT_START + ") || ', StopSel=' || chr(" +
+            (int) PostSearchView.HIGHLIGHT_END + ") || ', MaxFragments=2, MaxWords=30, MinWords=10') AS \"highlight\" " +
+            "FROM (SELECT s.id, ts_rank(s.search_vector, q) AS rank " +
+            "FROM posts s, websearch_to_tsquery('english', :query) q " +
+            "WHERE s.status = 'PUBLISHED' AND s.search_vector @@ q ";
+
+    // Headlines are computed in the outer query so only the returned page pays for them
+    String SEARCH_PAGE = "ORDER BY rank DESC, s.id DESC LIMIT :limit) m " +
+            "JOIN posts p ON p.id = m.id JOIN users u ON u.id = p.author_id " +
+            "ORDER BY m.rank DESC, p.id DESC";
+
+    @Query(value = SEARCH_SELECT + SEARCH_PAGE, nativeQuery = true)
+    List<PostSearchView> searchPublished(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = SEARCH_SELECT +
+            "AND (ts_rank(s.search_vector, q) < :rank " +
+            "OR (ts_rank(s.search_vector, q) = :rank AND s.id < :id)) " + SEARCH_PAGE, nativeQuery = true)
+    List<PostSearchView> searchPublishedAfter(@Param("query") String query, @Param("rank") float rank,
+            @Param("id") UUID id, @Param("limit") int limit);
 }
@@ -0,0 +1,31 @@
+package com.postzen.repository;
+
+import com.postzen.entity.PostRevision;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PostRevisionRepository extends JpaRepository<PostRevision, UUID> {
+
+    String VIEW_SELECT = "SELECT r.revision AS revision, r.kind AS kind, r.snapshotRevision AS snapshotRevision, " +
+            "r.title AS title, r.contentLength AS contentLength, r.chainBytes AS chainBytes, " +
+            "e.username AS editorUsername, r.createdAt AS createdAt " +
+            "FROM PostRevision r LEFT JOIN r.editor e ";
+
+    @Query(VIEW_SELECT + "WHERE r.post.id = :postId AND r.revision < :before ORDER BY r.revision DESC")
+    List<PostRevisionView> findHistory(@Param("postId") UUID postId, @Param("before") int before, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE r.post.id = :postId AND r.revision = :revision")
+    Optional<PostRevisionView> findView(@Param("postId") UUID postId, @Param("revision") int revision);
+
+    @Query("SELECT r FROM PostRevision r WHERE r.post.id = :postId AND r.revision BETWEEN :from AND :to " +
+            "ORDER BY r.revision")
+    List<PostRevision> findChain(@Param("postId") UUID postId, @Param("from") int from, @Param("to") int to);
+}
@@ -0,0 +1,27 @@
+package com.postzen.repository;
+
+import com.postzen.entity.PostRevision;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revision's metadata, without its stored content.
+ */
+public interface PostRevisionView {
+
+    int getRevision();
+
+    PostRevision.Kind getKind();
+
+    int getSnapshotRevision();
+
+    String getTitle();
+
+    int getContentLength();
+
+    int getChainBytes();
+
+    String getEditorUsername();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,11 @@
+package com.postzen.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface PostScheduleView {
+
+    UUID getId();
+
+    LocalDateTime getScheduledAt();
+}
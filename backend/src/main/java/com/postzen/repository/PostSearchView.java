@@ -0,0 +1,35 @@
+package com.postzen.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A ranked full-text search hit with a highlighted fragment of the post content.
+ */
+public interface PostSearchView {
+
+    // Delimit matches in getHighlight(); private-use characters, removed from the content first
+    char HIGHLIGHT_START = '\uE000';
+    char HIGHLIGHT_END = '\uE001';
+
+    UUID getId();
+
+    String getTitle();
+
+    String getSlug();
+
+    String getExcerpt();
+
+    LocalDateTime getPublishedAt();
+
+    int getCommentCount();
+
+    UUID getAuthorId();
+
+    String getAuthorUsername();
+
+    Float getRank();
+
+    // Plain text: not escaped, with matches between HIGHLIGHT_START and HIGHLIGHT_END
+    String getHighlight();
+}
@@ -0,0 +1,10 @@
+package com.postzen.repository;
+
+import java.util.UUID;
+
+public interface PostSlugView {
+
+    UUID getId();
+
+    String getSlug();
+}
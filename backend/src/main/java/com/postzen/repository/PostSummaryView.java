@@ -0,0 +1,34 @@
+package com.postzen.repository;
+
+import com.postzen.entity.Post;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Column subset needed to render a post in a listing, selected without the content body.
+ */
+public interface PostSummaryView {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getSlug();
+
+    String getExcerpt();
+
+    Post.Status getStatus();
+
+    LocalDateTime getPublishedAt();
+
+    int getCommentCount();
+
+    long getViewCount();
+
+    long getUniqueReaders();
+
+    UUID getAuthorId();
+
+    String getAuthorUsername();
+}
@@ -0,0 +1,24 @@
+package com.postzen.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What the sitemap and the RSS feed need to know about a published post.
+ */
+public interface PostSyndicationView {
+
+    UUID getId();
+
+    String getSlug();
+
+    String getTitle();
+
+    String getExcerpt();
+
+    String getAuthorUsername();
+
+    LocalDateTime getPublishedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,18 @@
+package com.postzen.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Just enough of a published post to offer it as a title suggestion.
+ */
+public interface PostTitleView {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getSlug();
+
+    LocalDateTime getPublishedAt();
+}
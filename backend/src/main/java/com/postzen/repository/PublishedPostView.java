@@ -0,0 +1,8 @@
+package com.postzen.repository;
+
+import java.util.UUID;
+
+public interface PublishedPostView extends PostTitleView {
+
+    UUID getAuthorId();
+}
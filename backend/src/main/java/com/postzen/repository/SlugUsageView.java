@@ -0,0 +1,11 @@
+package com.postzen.repository;
+
+/**
+ * Whether a base slug is taken, and the highest numeric suffix in use for it.
+ */
+public interface SlugUsageView {
+
+    Boolean getTaken();
+
+    Integer getMaxSuffix();
+}
@@ -1,9 +1,15 @@
 package com.postzen.repository;
 
 import com.postzen.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,4 +25,23 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.id AS id, u.username AS username FROM User u")
+    List<UsernameView> findAllUsernames(Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.username IN :usernames")
+    List<UsernameView> findIdsByUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = u.followerCount + :delta WHERE u.id = :id")
+    void incrementFollowerCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id = :id")
+    void incrementFollowingCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.timelinePulled = true " +
+            "WHERE u.id = :id AND u.followerCount >= :threshold AND u.timelinePulled = false")
+    void markTimelinePulled(@Param("id") UUID id, @Param("threshold") long threshold);
 }
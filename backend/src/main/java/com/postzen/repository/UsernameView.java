@@ -0,0 +1,13 @@
+package com.postzen.repository;
+
+import java.util.UUID;
+
+/**
+ * Just enough of a user to offer them as a username suggestion.
+ */
+public interface UsernameView {
+
+    UUID getId();
+
+    String getUsername();
+}
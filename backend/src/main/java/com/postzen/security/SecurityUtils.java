@@ -3,6 +3,7 @@ package com.postzen.security;
 import com.postzen.entity.User;
 import com.postzen.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -24,6 +25,18 @@ public class SecurityUtils {
         return userRepository.findByEmail(email).orElse(null);
     }
 
+    /**
+     * Name of the authenticated principal without a database lookup, or null for anonymous requests.
+     */
+    public String getCurrentPrincipalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
     public UUID getCurrentUserId() {
         User user = getCurrentUser();
         return user != null ? user.getId() : null;
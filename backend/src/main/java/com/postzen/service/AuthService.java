@@ -36,6 +36,7 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
     private final RedisTemplate<String, String> redisTemplate;
+    private final AutocompleteService autocompleteService;
 
     private static final String BLACKLIST_PREFIX = "blacklist:";
 
@@ -56,6 +57,9 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        UUID userId = user.getId();
+        String username = user.getUsername();
+        AfterCommit.run(() -> autocompleteService.putUser(userId, username));
         log.info("User registered: {}", user.getEmail());
 
         return generateAuthResponse(user);
@@ -0,0 +1,214 @@
+package com.postzen.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postzen.dto.response.AutocompleteResponse;
+import com.postzen.dto.response.SuggestionResponse;
+import com.postzen.exception.BadRequestException;
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostTitleView;
+import com.postzen.repository.UserRepository;
+import com.postzen.repository.UsernameView;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Search-as-you-type over published post titles and usernames, served from in-memory
+ * prefix indexes. The indexes are built at startup and kept current from the post and
+ * user write paths; changes are broadcast over Redis pub/sub so every node applies them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteService implements MessageListener {
+
+    private static final String CHANGES_CHANNEL = "autocomplete:changes";
+    private static final String NODE_ID = UUID.randomUUID().toString();
+    private static final int TOP_K = 10;
+    private static final int MAX_DEPTH = 32;
+    private static final String POSTS = "posts";
+    private static final String USERS = "users";
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.autocomplete.max-entries}")
+    private int maxEntries;
+
+    @Value("${app.autocomplete.max-nodes}")
+    private int maxNodes;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixIndex postIndex;
+    private PrefixIndex userIndex;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Change {
+        private String origin;
+        private String index;
+        private boolean removal;
+        private String key;
+        private String text;
+        private String slug;
+        private long score;
+        // Rebuild the whole index from the database instead of applying one entry
+        private boolean reload;
+    }
+
+    @PostConstruct
+    public void init() {
+        postIndex = new PrefixIndex(TOP_K, MAX_DEPTH, maxEntries, maxNodes);
+        userIndex = new PrefixIndex(TOP_K, MAX_DEPTH, maxEntries, maxNodes);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGES_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<PostTitleView> posts = postRepository.findPublishedTitles(PageRequest.ofSize(maxEntries));
+        List<UsernameView> users = userRepository.findAllUsernames(PageRequest.ofSize(maxEntries));
+
+        lock.writeLock().lock();
+        try {
+            posts.forEach(p -> postIndex.put(postEntry(p.getId(), p.getTitle(), p.getSlug(), p.getPublishedAt())));
+            users.forEach(u -> userIndex.put(userEntry(u.getId(), u.getUsername())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Autocomplete indexes loaded: {} posts, {} users", postIndex.size(), userIndex.size());
+    }
+
+    public AutocompleteResponse suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Prefix is required");
+        }
+        int k = Math.min(Math.max(limit, 1), TOP_K);
+        lock.readLock().lock();
+        try {
+            return AutocompleteResponse.builder()
+                    .posts(toResponses(postIndex.search(prefix, k)))
+                    .users(toResponses(userIndex.search(prefix, k)))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void putPost(UUID id, String title, String slug, LocalDateTime publishedAt) {
+        PrefixIndex.Entry entry = postEntry(id, title, slug, publishedAt);
+        apply(new Change(NODE_ID, POSTS, false, entry.getKey(), entry.getText(), entry.getSlug(), entry.getScore(),
+                false));
+    }
+
+    public void removePost(UUID id) {
+        apply(new Change(NODE_ID, POSTS, true, id.toString(), null, null, 0, false));
+    }
+
+    /**
+     * Rebuilds the post index on every node, for when posts were written in bulk rather than one by one.
+     */
+    public void reloadPosts() {
+        apply(new Change(NODE_ID, POSTS, false, null, null, null, 0, true));
+    }
+
+    public void putUser(UUID id, String username) {
+        apply(new Change(NODE_ID, USERS, false, id.toString(), username, null, 0, false));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Change change = objectMapper.readValue(message.getBody(), Change.class);
+            if (!NODE_ID.equals(change.getOrigin())) {
+                applyLocally(change);
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply autocomplete change", e);
+        }
+    }
+
+    private void apply(Change change) {
+        applyLocally(change);
+        try {
+            redisTemplate.convertAndSend(CHANGES_CHANNEL, objectMapper.writeValueAsString(change));
+        } catch (Exception e) {
+            log.error("Failed to broadcast autocomplete change for: {}", change.getKey(), e);
+        }
+    }
+
+    private void applyLocally(Change change) {
+        if (change.isReload()) {
+            reloadPostIndex();
+            return;
+        }
+        PrefixIndex index = POSTS.equals(change.getIndex()) ? postIndex : userIndex;
+        lock.writeLock().lock();
+        try {
+            if (change.isRemoval()) {
+                index.remove(change.getKey());
+            } else {
+                index.put(new PrefixIndex.Entry(change.getKey(), change.getText(), change.getSlug(), change.getScore()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reloadPostIndex() {
+        PrefixIndex rebuilt = new PrefixIndex(TOP_K, MAX_DEPTH, maxEntries, maxNodes);
+        postRepository.findPublishedTitles(PageRequest.ofSize(maxEntries))
+                .forEach(p -> rebuilt.put(postEntry(p.getId(), p.getTitle(), p.getSlug(), p.getPublishedAt())));
+
+        lock.writeLock().lock();
+        try {
+            postIndex = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Autocomplete post index reloaded: {} posts", rebuilt.size());
+    }
+
+    private static PrefixIndex.Entry postEntry(UUID id, String title, String slug, LocalDateTime publishedAt) {
+        // Newer posts rank first
+        long score = publishedAt != null ? publishedAt.toEpochSecond(ZoneOffset.UTC) : 0;
+        return new PrefixIndex.Entry(id.toString(), title, slug, score);
+    }
+
+    private static PrefixIndex.Entry userEntry(UUID id, String username) {
+        return new PrefixIndex.Entry(id.toString(), username, null, 0);
+    }
+
+    private static List<SuggestionResponse> toResponses(List<PrefixIndex.Entry> entries) {
+        return entries.stream()
+                .map(e -> SuggestionResponse.builder()
+                        .id(UUID.fromString(e.getKey()))
+                        .text(e.getText())
+                        .slug(e.getSlug())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.postzen.service;
+
+import com.postzen.dto.request.AutosaveRequest;
+import com.postzen.dto.response.AutosaveResponse;
+import com.postzen.entity.Post;
+import com.postzen.exception.BadRequestException;
+import com.postzen.exception.ForbiddenException;
+import com.postzen.exception.ResourceNotFoundException;
+import com.postzen.repository.PostRepository;
+import com.postzen.security.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Editor autosaves. A save only lands in {@link DraftBuffer}; drafts reach the database once the
+ * editor has paused for {@code debounce-seconds}, or every {@code max-delay-seconds} while they
+ * keep typing, or when they save explicitly. Who may edit a post is checked against the database
+ * once and then remembered for the session, so an autosave costs two Redis calls.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutosaveService {
+
+    private static final String FLUSH_LOCK = "autosave:flush";
+    private static final Duration FLUSH_LOCK_TTL = Duration.ofMinutes(1);
+    private static final int FLUSH_BATCH = 200;
+
+    private final DraftBuffer draftBuffer;
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final SecurityUtils securityUtils;
+    private final RedisLock redisLock;
+
+    @Value("${app.autosave.debounce-seconds}")
+    private long debounceSeconds;
+
+    @Value("${app.autosave.max-delay-seconds}")
+    private long maxDelaySeconds;
+
+    public AutosaveResponse autosave(UUID postId, AutosaveRequest request) {
+        if (request.getTitle() == null && request.getContent() == null) {
+            throw new BadRequestException("Nothing to save");
+        }
+        UUID editorId = checkAccess(postId);
+        long version = draftBuffer.write(postId, request.getTitle(), request.getContent(), editorId);
+        return AutosaveResponse.builder()
+                .postId(postId)
+                .version(version)
+                .savedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * The draft not yet written to the post, or 404 when everything is saved.
+     */
+    public AutosaveResponse getDraft(UUID postId) {
+        checkAccess(postId);
+        DraftBuffer.Draft draft = draftBuffer.read(postId);
+        if (draft == null) {
+            throw new ResourceNotFoundException("No unsaved draft");
+        }
+        return AutosaveResponse.builder()
+                .postId(postId)
+                .version(draft.getVersion())
+                .savedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(draft.getUpdatedAt()), ZoneId.systemDefault()))
+                .title(draft.getTitle())
+                .content(draft.getContent())
+                .build();
+    }
+
+    private UUID checkAccess(UUID postId) {
+        String principal = securityUtils.getCurrentPrincipalName();
+        if (principal == null) {
+            throw new ForbiddenException("Authentication required");
+        }
+        UUID editorId = draftBuffer.grantedEditor(postId, principal);
+        if (editorId != null) {
+            return editorId;
+        }
+
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        if (!securityUtils.canModifyResource(post.getAuthor().getId())) {
+            throw new ForbiddenException("You don't have permission to update this post");
+        }
+        editorId = securityUtils.getCurrentUserId();
+        draftBuffer.grant(postId, principal, editorId);
+        return editorId;
+    }
+
+    @Scheduled(fixedDelayString = "${app.autosave.flush-interval-ms}")
+    public void flushDue() {
+        String token = redisLock.tryAcquire(FLUSH_LOCK, FLUSH_LOCK_TTL);
+        if (token == null) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            Set<UUID> due = draftBuffer.due(now - debounceSeconds * 1000, now - maxDelaySeconds * 1000, FLUSH_BATCH);
+            for (UUID postId : due) {
+                flush(postId);
+            }
+            if (!due.isEmpty()) {
+                log.debug("Flushed {} autosaved drafts", due.size());
+            }
+        } catch (Exception e) {
+            log.error("Autosave flush failed", e);
+        } finally {
+            redisLock.release(FLUSH_LOCK, token);
+        }
+    }
+
+    private void flush(UUID postId) {
+        DraftBuffer.Draft draft = draftBuffer.read(postId);
+        if (draft == null) {
+            draftBuffer.forget(postId);
+            return;
+        }
+        try {
+            postService.applyDraft(postId, draft);
+            draftBuffer.discard(postId, draft.getVersion());
+        } catch (ResourceNotFoundException e) {
+            // Deleted while the draft was waiting
+            draftBuffer.delete(postId);
+        } catch (Exception e) {
+            log.error("Failed to flush autosaved draft of post {}, retrying on the next run", postId, e);
+        }
+    }
+}
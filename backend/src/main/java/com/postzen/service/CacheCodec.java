@@ -0,0 +1,112 @@
+package com.postzen.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * How a cached JSON payload is stored in Redis. Every entry records the id of the codec that
+ * wrote it, so the configured codec can be changed at any time: readers decode whatever they
+ * find and entries move to the new codec as they are rewritten. Ids must never be reused.
+ */
+public enum CacheCodec {
+
+    JSON(0) {
+        @Override
+        byte[] encode(byte[] json) {
+            return json;
+        }
+
+        @Override
+        byte[] decode(byte[] stored) {
+            return stored;
+        }
+    },
+
+    GZIP(1) {
+        @Override
+        byte[] encode(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        byte[] decode(byte[] stored) {
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(stored))) {
+                return gzip.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    },
+
+    /**
+     * Binary JSON. Converted token by token in both directions, so reads still hand
+     * out JSON bytes without building an object graph.
+     */
+    SMILE(2) {
+        @Override
+        byte[] encode(byte[] json) {
+            return transcode(Factories.JSON, Factories.SMILE, json);
+        }
+
+        @Override
+        byte[] decode(byte[] stored) {
+            return transcode(Factories.SMILE, Factories.JSON, stored);
+        }
+    };
+
+    private final int id;
+
+    CacheCodec(int id) {
+        this.id = id;
+    }
+
+    int id() {
+        return id;
+    }
+
+    abstract byte[] encode(byte[] json);
+
+    abstract byte[] decode(byte[] stored);
+
+    static CacheCodec fromId(int id) {
+        for (CacheCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache codec: " + id);
+    }
+
+    private static byte[] transcode(JsonFactory from, JsonFactory to, byte[] input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length);
+        try (JsonParser parser = from.createParser(input);
+             JsonGenerator generator = to.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Factories {
+        static final JsonFactory JSON = new JsonFactory();
+        static final SmileFactory SMILE = new SmileFactory();
+    }
+}
@@ -0,0 +1,119 @@
+package com.postzen.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postzen.dto.response.CodecBenchmarkResponse;
+import com.postzen.dto.response.PostResponse;
+import com.postzen.exception.BadRequestException;
+import com.postzen.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares the cache codecs on real data: recent published posts are serialized exactly as
+ * they are cached and run through every codec, reporting stored size and per-entry encode and
+ * decode time against plain JSON. Timings are taken after a few warm-up rounds.
+ * <p>
+ * It runs on a request thread of a serving node, so the sample is capped, only one run is
+ * allowed at a time per node, and the database connection is released before measuring.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheCodecBenchmark {
+
+    private static final int MAX_SAMPLES = 100;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final RenderCache renderCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public List<CodecBenchmarkResponse> run(int samples) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BadRequestException("A codec benchmark is already running");
+        }
+        try {
+            int limit = Math.min(Math.max(samples, 1), MAX_SAMPLES);
+            List<byte[]> payloads = loadPayloads(limit);
+            if (payloads.isEmpty()) {
+                return List.of();
+            }
+
+            List<CodecBenchmarkResponse> results = new ArrayList<>();
+            for (CacheCodec codec : CacheCodec.values()) {
+                results.add(measure(codec, payloads));
+            }
+            return results;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<byte[]> loadPayloads(int limit) {
+        return transactionTemplate.execute(status -> {
+            List<byte[]> payloads = new ArrayList<>();
+            postRepository.findRecentPublished(PageRequest.ofSize(limit))
+                    .forEach(post -> payloads.add(toJson(PostResponse.fromEntity(post, renderCache.get(post.getContent())))));
+            return payloads;
+        });
+    }
+
+    private CodecBenchmarkResponse measure(CacheCodec codec, List<byte[]> payloads) {
+        long jsonBytes = 0;
+        long encodedBytes = 0;
+        List<byte[]> encoded = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) {
+            byte[] stored = codec.encode(payload);
+            jsonBytes += payload.length;
+            encodedBytes += stored.length;
+            encoded.add(stored);
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (byte[] payload : payloads) {
+                codec.encode(payload);
+            }
+            long encodedAt = System.nanoTime();
+            for (byte[] stored : encoded) {
+                codec.decode(stored);
+            }
+            long decoded = System.nanoTime();
+            if (round >= WARMUP_ROUNDS) {
+                encodeNanos += encodedAt - start;
+                decodeNanos += decoded - encodedAt;
+            }
+        }
+
+        double entries = (double) payloads.size() * MEASURED_ROUNDS;
+        return CodecBenchmarkResponse.builder()
+                .codec(codec.name())
+                .samples(payloads.size())
+                .jsonBytes(jsonBytes)
+                .encodedBytes(encodedBytes)
+                .sizeRatio((double) encodedBytes / jsonBytes)
+                .encodeMicrosPerEntry(encodeNanos / entries / 1000)
+                .decodeMicrosPerEntry(decodeNanos / entries / 1000)
+                .build();
+    }
+
+    private byte[] toJson(PostResponse post) {
+        try {
+            return objectMapper.writeValueAsBytes(post);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize post", e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.postzen.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A cached JSON payload together with its strong ETag and the metadata needed for probabilistic
+ * early recomputation: when the entry expires and how long it took to compute.
+ * <p>
+ * Stored in Redis as a binary header followed by the payload in the codec named by the header:
+ * {@code [format][codec][expiresAt:8][computeMillis:8][etagLength:2][etag][payload]}.
+ * Entries from before the binary format are text ({@code expiresAt:computeMillis[:etag]\n} + JSON)
+ * and are still read; they can never start with the format byte.
+ */
+@Getter
+public class CacheEntry {
+
+    // Payload of an entry recording that there was nothing to cache; never valid JSON
+    static final String MISSING = "";
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 2 + Long.BYTES * 2 + Short.BYTES;
+    private static final char TEXT_HEADER_END = '\n';
+    private static final double BETA = 1.0;
+    private static final int ETAG_BYTES = 16;
+    private static final String MISSING_ETAG = etagOf(new byte[0]);
+
+    // A read entry keeps its stored body and decodes it on first use, so a 304 or an
+    // early-refresh check costs only the header
+    @Getter(AccessLevel.NONE)
+    private volatile byte[] payloadBytes;
+    @Getter(AccessLevel.NONE)
+    private final CacheCodec codec;
+    @Getter(AccessLevel.NONE)
+    private final byte[] storedBody;
+    private final String etag;
+    private final long expiresAt;
+    private final long computeMillis;
+
+    private CacheEntry(byte[] payloadBytes, CacheCodec codec, byte[] storedBody, String etag,
+            long expiresAt, long computeMillis) {
+        this.payloadBytes = payloadBytes;
+        this.codec = codec;
+        this.storedBody = storedBody;
+        this.etag = etag;
+        this.expiresAt = expiresAt;
+        this.computeMillis = computeMillis;
+    }
+
+    static CacheEntry of(byte[] payload, long expiresAt, long computeMillis) {
+        return new CacheEntry(payload, null, null, etagOf(payload), expiresAt, computeMillis);
+    }
+
+    /**
+     * The JSON payload, decoded from the stored body the first time it is asked for.
+     */
+    public byte[] getPayloadBytes() {
+        byte[] payload = payloadBytes;
+        if (payload == null) {
+            // Two readers racing here both decode the same bytes; either result is fine to keep
+            payload = codec.decode(storedBody);
+            payloadBytes = payload;
+        }
+        return payload;
+    }
+
+    byte[] encode(CacheCodec codec) {
+        byte[] etagBytes = etag.getBytes(StandardCharsets.US_ASCII);
+        byte[] body = codec.encode(getPayloadBytes());
+        return ByteBuffer.allocate(HEADER_BYTES + etagBytes.length + body.length)
+                .put(FORMAT_VERSION)
+                .put((byte) codec.id())
+                .putLong(expiresAt)
+                .putLong(computeMillis)
+                .putShort((short) etagBytes.length)
+                .put(etagBytes)
+                .put(body)
+                .array();
+    }
+
+    static CacheEntry decode(byte[] raw) {
+        if (raw.length == 0 || raw[0] != FORMAT_VERSION) {
+            return decodeText(new String(raw, StandardCharsets.UTF_8));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        buffer.get();
+        CacheCodec codec = CacheCodec.fromId(buffer.get());
+        long expiresAt = buffer.getLong();
+        long computeMillis = buffer.getLong();
+        byte[] etagBytes = new byte[buffer.getShort()];
+        buffer.get(etagBytes);
+        byte[] body = Arrays.copyOfRange(raw, buffer.position(), raw.length);
+        return new CacheEntry(null, codec, body, new String(etagBytes, StandardCharsets.US_ASCII),
+                expiresAt, computeMillis);
+    }
+
+    private static CacheEntry decodeText(String raw) {
+        int headerEnd = raw.indexOf(TEXT_HEADER_END);
+        if (headerEnd < 0) {
+            // Written before entries carried a header; never refreshed early
+            return of(raw.getBytes(StandardCharsets.UTF_8), Long.MAX_VALUE, 0);
+        }
+        String[] header = raw.substring(0, headerEnd).split(":", 3);
+        byte[] payload = raw.substring(headerEnd + 1).getBytes(StandardCharsets.UTF_8);
+        String etag = header.length > 2 ? header[2] : etagOf(payload);
+        return new CacheEntry(payload, null, null, etag, Long.parseLong(header[0]), Long.parseLong(header[1]));
+    }
+
+    /**
+     * Whether this entry records that there was nothing to cache. Decided from the ETag,
+     * which is derived from the payload, so the body is not decoded.
+     */
+    public boolean isMissing() {
+        return MISSING_ETAG.equals(etag);
+    }
+
+    /**
+     * XFetch: the closer to expiry and the costlier the recompute, the more
+     * likely a single reader volunteers to refresh ahead of time.
+     */
+    boolean shouldRefreshEarly(long now) {
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - computeMillis * BETA * Math.log(random) >= expiresAt;
+    }
+
+    /**
+     * The ETag of the gzip variant of a representation tagged {@code etag}; a different
+     * representation of the same content needs its own strong ETag.
+     */
+    static String gzipEtagOf(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    static String etagOf(byte[] payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, ETAG_BYTES)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.postzen.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Function;
+
+/**
+ * A response body paired with the strong ETag of the cache entry it came from. When the
+ * client's If-None-Match already names that ETag the body is never built: {@link #isNotModified()}
+ * is true and {@link #getBody()} is null. Uncached responses (drafts) carry no ETag.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CachedResponse<T> {
+
+    private final T body;
+    private final String etag;
+    private final boolean notModified;
+
+    public static <T> CachedResponse<T> of(T body, String etag) {
+        return new CachedResponse<>(body, etag, false);
+    }
+
+    public static <T> CachedResponse<T> notModified(String etag) {
+        return new CachedResponse<>(null, etag, true);
+    }
+
+    public CachedResponse<T> ifNoneMatch(String ifNoneMatch) {
+        return matches(ifNoneMatch, etag) ? notModified(etag) : this;
+    }
+
+    public <R> CachedResponse<R> map(Function<T, R> mapper) {
+        return notModified ? notModified(etag) : of(mapper.apply(body), etag);
+    }
+
+    /**
+     * 304 with just the ETag when the client's copy is current; otherwise the pre-serialized JSON body,
+     * tagged so the client can revalidate next time. no-cache lets clients store the body but makes them ask first.
+     */
+    public static ResponseEntity<byte[]> toResponseEntity(CachedResponse<byte[]> response) {
+        if (response.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(response.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(response.getBody().length);
+        if (response.getEtag() != null) {
+            ok.eTag(response.getEtag()).cacheControl(CacheControl.noCache());
+        }
+        return ok.body(response.getBody());
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, so a W/ prefix on the client's copy still matches.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
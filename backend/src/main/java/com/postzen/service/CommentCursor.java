@@ -0,0 +1,47 @@
+package com.postzen.service;
+
+import com.postzen.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in a post's comments: the (createdAt, id) pair of the last comment a
+ * client has seen, plus the number of the page it leads to so the first pages can be cached.
+ * Cursors are signed together with the post they page through, so only positions this server
+ * handed out for that post decode, and with them only pages that really exist reach the cache.
+ */
+@Getter
+@AllArgsConstructor
+class CommentCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String KIND = "comments";
+
+    private final UUID postId;
+    private final LocalDateTime createdAt;
+    private final UUID id;
+    private final int page;
+
+    String encode(CursorSigner signer) {
+        return signer.sign(KIND, postId + SEPARATOR + createdAt + SEPARATOR + id + SEPARATOR + page);
+    }
+
+    static CommentCursor decode(String cursor, UUID postId, CursorSigner signer) {
+        String raw = signer.verify(KIND, cursor);
+        CommentCursor position;
+        try {
+            String[] parts = raw.split("\\" + SEPARATOR);
+            position = new CommentCursor(UUID.fromString(parts[0]), LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2]), Integer.parseInt(parts[3]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (!position.getPostId().equals(postId)) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return position;
+    }
+}
@@ -2,40 +2,161 @@ package com.postzen.service;
 
 import com.postzen.dto.request.CreateCommentRequest;
 import com.postzen.dto.response.CommentResponse;
+import com.postzen.dto.response.CursorResponse;
 import com.postzen.entity.Comment;
 import com.postzen.entity.Post;
 import com.postzen.entity.User;
+import com.postzen.exception.BadRequestException;
 import com.postzen.exception.ForbiddenException;
 import com.postzen.exception.ResourceNotFoundException;
 import com.postzen.repository.CommentRepository;
+import com.postzen.repository.CommentThreadView;
 import com.postzen.repository.PostRepository;
 import com.postzen.security.SecurityUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Comments and their reply threads. Every comment carries a materialized path (see
+ * {@link Comment#getPath()}), so any thread or subtree, cut at any depth, is one index range scan
+ * in display order; the tree is then assembled in a single pass. Reply counts and the sibling
+ * numbers that make up paths are kept with atomic UPDATEs as comments are added and removed.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CommentService {
 
+    private static final String CACHE_PREFIX = "comments:";
+    private static final String GENERATION_PREFIX = "comments:generation:";
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_THREAD_PAGE_SIZE = 200;
+    private static final int MAX_THREAD_DEPTH = 10;
+    // Sorts after every hex digit, so prefix + PATH_END bounds all paths under prefix
+    private static final String PATH_END = "g";
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final SecurityUtils securityUtils;
+    private final TrendingService trendingService;
+    private final StaticSite staticSite;
+    private final SingleFlightCache singleFlightCache;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CursorSigner cursorSigner;
+
+    @Value("${app.comments.cached-pages}")
+    private int cachedPages;
+
+    // Null when it cannot be read, in which case the cache is bypassed rather than guessed at
+    private String currentGeneration(UUID postId) {
+        try {
+            String generation = redisTemplate.opsForValue().get(GENERATION_PREFIX + postId);
+            return generation != null ? generation : "0";
+        } catch (Exception e) {
+            log.error("Failed to read comment generation of post {}", postId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Moves readers of a post's comments onto a fresh key space once the surrounding transaction
+     * commits; pages cached under older generations are never read again and simply expire.
+     * Every bump picks a generation never used before, so none of those pages can come back.
+     * The key itself may expire once no page could still be cached under "0", the generation
+     * read while it is missing: that takes twice the page TTL after the post's last change.
+     */
+    public void invalidatePostComments(UUID postId) {
+        AfterCommit.run(() -> {
+            try {
+                redisTemplate.opsForValue().set(GENERATION_PREFIX + postId, UUID.randomUUID().toString(),
+                        CACHE_TTL.multipliedBy(2));
+            } catch (Exception e) {
+                log.error("Failed to invalidate cached comments of post {}", postId, e);
+            }
+        });
+    }
+
+    /**
+     * JSON body of a {@code CursorResponse<CommentResponse>}, newest first. The first
+     * {@code cached-pages} pages are served from the cache, which keeps exactly the posts being
+     * read; deeper pages go to the database, one index range scan each at any depth. Cursors are
+     * signed and bound to the post, so clients cannot mint cache entries for positions the server
+     * never handed out, nor reuse one post's cursor on another.
+     */
+    public CachedResponse<byte[]> getCommentsByPostId(UUID postId, String cursor, int size, String ifNoneMatch) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        CommentCursor position = cursor != null ? CommentCursor.decode(cursor, postId, cursorSigner) : null;
+        String generation = position == null || position.getPage() < cachedPages ? currentGeneration(postId) : null;
+        if (generation == null) {
+            CursorResponse<CommentResponse> page = loadPage(postId, position, limit);
+            if (page == null) {
+                throw new ResourceNotFoundException("Post not found");
+            }
+            return CachedResponse.of(toJson(page), null);
+        }
 
-    public Page<CommentResponse> getCommentsByPostId(UUID postId, Pageable pageable) {
-        // Verify post exists
-        if (!postRepository.existsById(postId)) {
+        String key = CACHE_PREFIX + postId + ":v" + generation + ":cursor:"
+                + (cursor != null ? cursor : "head") + ":size:" + limit;
+        CacheEntry entry = singleFlightCache.get(key, CACHE_TTL, () -> {
+            CursorResponse<CommentResponse> page = loadPage(postId, position, limit);
+            return page != null ? objectMapper.writeValueAsString(page) : null;
+        });
+        if (entry == null) {
             throw new ResourceNotFoundException("Post not found");
         }
+        if (CachedResponse.matches(ifNoneMatch, entry.getEtag())) {
+            return CachedResponse.notModified(entry.getEtag());
+        }
+        return CachedResponse.of(entry.getPayloadBytes(), entry.getEtag());
+    }
+
+    // Null when the post does not exist
+    private CursorResponse<CommentResponse> loadPage(UUID postId, CommentCursor position, int limit) {
+        Pageable pageable = PageRequest.ofSize(limit + 1);
+        List<CommentThreadView> rows = position == null
+                ? commentRepository.findLatestPage(postId, pageable)
+                : commentRepository.findPageAfter(postId, position.getCreatedAt(), position.getId(), pageable);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        if (rows.get(0).getId() == null) {
+            rows = List.of();
+        }
 
-        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId, pageable)
-                .map(CommentResponse::fromEntity);
+        boolean hasNext = rows.size() > limit;
+        List<CommentThreadView> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            CommentThreadView last = page.get(page.size() - 1);
+            int next = position != null ? position.getPage() + 1 : 1;
+            nextCursor = new CommentCursor(postId, last.getCreatedAt(), last.getId(), next).encode(cursorSigner);
+        }
+        return CursorResponse.of(page.stream().map(CommentResponse::fromView).toList(), limit, nextCursor);
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
     }
 
     @Transactional
@@ -53,13 +174,45 @@ public class CommentService {
             throw new ForbiddenException("Cannot comment on unpublished posts");
         }
 
+        Comment parent = null;
+        String path;
+        if (request.getParentId() != null) {
+            parent = commentRepository.findById(request.getParentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Parent comment not found"));
+            if (!parent.getPost().getId().equals(postId)) {
+                throw new BadRequestException("Parent comment belongs to another post");
+            }
+            if (parent.isDeleted()) {
+                throw new BadRequestException("Cannot reply to a deleted comment");
+            }
+            if (parent.getDepth() + 1 >= Comment.MAX_DEPTH) {
+                throw new BadRequestException("Replies cannot be nested deeper than " + Comment.MAX_DEPTH + " levels");
+            }
+            // The row lock taken here holds until commit, so the number read back is ours alone
+            commentRepository.addReply(parent.getId());
+            path = parent.getPath() + Comment.pathSegment(commentRepository.findReplySeq(parent.getId()));
+            postRepository.incrementCommentCount(post.getId(), 1);
+        } else {
+            postRepository.addTopLevelComment(post.getId());
+            path = Comment.pathSegment(postRepository.findCommentSeq(post.getId()));
+        }
+
         Comment comment = Comment.builder()
                 .post(post)
                 .author(currentUser)
+                .parent(parent)
+                .path(path)
+                .depth(parent != null ? parent.getDepth() + 1 : 0)
                 .content(request.getContent())
                 .build();
 
         comment = commentRepository.save(comment);
+        invalidatePostComments(postId);
+        String slug = post.getSlug();
+        AfterCommit.run(() -> {
+            trendingService.recordComment(postId);
+            staticSite.markPost(slug);
+        });
         log.info("Comment created on post {} by {}", post.getSlug(), currentUser.getEmail());
 
         return CommentResponse.fromEntity(comment);
@@ -68,13 +221,111 @@ public class CommentService {
     @Transactional
     public void deleteComment(UUID id) {
         Comment comment = commentRepository.findById(id)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
 
         if (!securityUtils.canModifyResource(comment.getAuthor().getId())) {
             throw new ForbiddenException("You don't have permission to delete this comment");
         }
 
-        commentRepository.delete(comment);
+        if (comment.getReplyCount() > 0) {
+            // Keep the node so its replies still hang off the thread
+            comment.setDeleted(true);
+            comment.setContent("");
+            commentRepository.saveAndFlush(comment);
+            // A reply deleted concurrently may have taken the last one before this row was written
+            pruneEmptyPlaceholders(comment);
+        } else {
+            Comment parent = comment.getParent();
+            commentRepository.delete(comment);
+            if (parent != null) {
+                commentRepository.incrementReplyCount(parent.getId(), -1);
+                pruneEmptyPlaceholders(parent);
+            }
+        }
+        postRepository.incrementCommentCount(comment.getPost().getId(), -1);
+        invalidatePostComments(comment.getPost().getId());
+        String slug = comment.getPost().getSlug();
+        AfterCommit.run(() -> staticSite.markPost(slug));
         log.info("Comment deleted: {}", id);
     }
+
+    /**
+     * Removes a placeholder once its last reply is gone, then its parent if that leaves another
+     * empty placeholder, and so on up the thread. A placeholder without replies shows nothing and
+     * could not be deleted any other way. Placeholders were already taken off the post's count.
+     */
+    private void pruneEmptyPlaceholders(Comment comment) {
+        while (comment != null) {
+            // Read before the row goes
+            Comment parent = comment.getParent();
+            if (commentRepository.deleteIfEmptyPlaceholder(comment.getId()) == 0 || parent == null) {
+                return;
+            }
+            commentRepository.incrementReplyCount(parent.getId(), -1);
+            comment = parent;
+        }
+    }
+
+    /**
+     * One page of a post's comments in thread order, nested under their parents. {@code depth}
+     * levels are returned below {@code parentId}, or from the top level when it is null. Pages hold
+     * {@code size} comments, so a long thread may continue on the next page; its replies then
+     * arrive at the top of that page, with their parentId set.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<CommentResponse> getThread(UUID postId, UUID parentId, String cursor, int size, int depth) {
+        String prefix = "";
+        int maxDepth = Math.min(Math.max(depth, 1), MAX_THREAD_DEPTH) - 1;
+        if (parentId != null) {
+            Comment parent = commentRepository.findById(parentId)
+                    .filter(found -> found.getPost().getId().equals(postId))
+                    .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+            prefix = parent.getPath();
+            maxDepth += parent.getDepth() + 1;
+        }
+
+        String after = prefix;
+        if (cursor != null && !cursor.isBlank()) {
+            if (!cursor.startsWith(prefix) || cursor.length() % Comment.PATH_SEGMENT_LENGTH != 0
+                    || !cursor.matches("[0-9a-f]+")) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            after = cursor;
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_THREAD_PAGE_SIZE);
+        List<CommentThreadView> rows = commentRepository.findThread(postId, after, prefix + PATH_END, maxDepth,
+                PageRequest.of(0, limit + 1));
+        if (rows.isEmpty() && parentId == null && after.isEmpty() && !postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<CommentThreadView> page = hasNext ? rows.subList(0, limit) : rows;
+        // Path order puts every parent before its replies, so one pass attaches each to its parent
+        Map<UUID, CommentResponse> byId = new HashMap<>(page.size() * 2);
+        List<CommentResponse> roots = new ArrayList<>();
+        for (CommentThreadView row : page) {
+            CommentResponse comment = CommentResponse.fromView(row);
+            comment.setReplies(new ArrayList<>());
+            byId.put(comment.getId(), comment);
+            CommentResponse parent = row.getParentId() != null ? byId.get(row.getParentId()) : null;
+            if (parent != null) {
+                parent.getReplies().add(comment);
+            } else {
+                roots.add(comment);
+            }
+        }
+        String nextCursor = hasNext ? page.get(page.size() - 1).getPath() : null;
+        return CursorResponse.of(roots, page.size(), nextCursor);
+    }
+
+    @Transactional
+    public int recountCommentCounts() {
+        int replies = commentRepository.recountReplies();
+        log.info("Reply counts recounted for {} comments", replies);
+        int updated = postRepository.recountComments();
+        log.info("Comment counts recounted for {} posts", updated);
+        return updated;
+    }
 }
@@ -0,0 +1,74 @@
+package com.postzen.service;
+
+import com.postzen.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signs opaque pagination cursors, so only positions this server handed out decode. Cached pages
+ * are keyed by cursor, and without a signature a client could mint positions to fill the cache.
+ * Each kind of cursor is signed with its own key, derived from {@code app.cursors.secret} and the
+ * kind's name, so a cursor of one kind never verifies as another.
+ */
+@Component
+class CursorSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SIGNATURE_SEPARATOR = ".";
+    private static final int SIGNATURE_BYTES = 16;
+
+    private final byte[] secret;
+    private final Map<String, byte[]> keys = new ConcurrentHashMap<>();
+
+    CursorSigner(@Value("${app.cursors.secret}") String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    String sign(String kind, String payload) {
+        byte[] raw = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(raw) + SIGNATURE_SEPARATOR + encoder.encodeToString(mac(kind, raw));
+    }
+
+    /**
+     * The payload of a cursor signed for {@code kind}; a 400 for anything else.
+     */
+    String verify(String kind, String cursor) {
+        try {
+            int dot = cursor.indexOf(SIGNATURE_SEPARATOR);
+            byte[] raw = Base64.getUrlDecoder().decode(cursor.substring(0, dot));
+            byte[] signature = Base64.getUrlDecoder().decode(cursor.substring(dot + 1));
+            if (MessageDigest.isEqual(signature, mac(kind, raw))) {
+                return new String(raw, StandardCharsets.UTF_8);
+            }
+        } catch (RuntimeException e) {
+            // Malformed, reported below like a bad signature
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+
+    private byte[] mac(String kind, byte[] raw) {
+        byte[] key = keys.computeIfAbsent(kind, name -> hmac(secret, name.getBytes(StandardCharsets.UTF_8)));
+        return Arrays.copyOf(hmac(key, raw), SIGNATURE_BYTES);
+    }
+
+    private static byte[] hmac(byte[] key, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign cursor", e);
+        }
+    }
+}
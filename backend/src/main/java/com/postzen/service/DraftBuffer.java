@@ -0,0 +1,183 @@
+package com.postzen.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Autosaved drafts held in Redis until they are written to the database. Each post's draft is a
+ * hash with a version bumped on every write; two sorted sets track when each draft was last
+ * written and since when it has been waiting, which is all {@link AutosaveService} needs to pick
+ * the drafts due for a flush. Drafts expire on their own if never flushed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DraftBuffer {
+
+    private static final String DRAFT_PREFIX = "autosave:draft:";
+    private static final String ACCESS_PREFIX = "autosave:access:";
+    private static final String LAST_WRITE_KEY = "autosave:last-write";
+    private static final String WAITING_SINCE_KEY = "autosave:waiting-since";
+
+    private static final RedisScript<Long> WRITE = new DefaultRedisScript<>(
+            "local version = redis.call('HINCRBY', KEYS[1], 'version', 1) " +
+            "if ARGV[5] == '1' then redis.call('HSET', KEYS[1], 'title', ARGV[6]) end " +
+            "if ARGV[7] == '1' then redis.call('HSET', KEYS[1], 'content', ARGV[8]) end " +
+            "redis.call('HSET', KEYS[1], 'editor', ARGV[4], 'updatedAt', ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) " +
+            "redis.call('ZADD', KEYS[3], 'NX', ARGV[2], ARGV[1]) " +
+            "return version",
+            Long.class);
+
+    // A draft autosaved again while being flushed stays buffered, waiting from the flush onwards
+    private static final RedisScript<Long> DISCARD = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], 'version') == ARGV[1] then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  redis.call('ZREM', KEYS[2], ARGV[2]) " +
+            "  redis.call('ZREM', KEYS[3], ARGV[2]) " +
+            "  return 1 " +
+            "end " +
+            "redis.call('ZADD', KEYS[3], 'XX', ARGV[3], ARGV[2]) " +
+            "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${app.autosave.ttl-minutes}")
+    private long ttlMinutes;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Draft {
+        private final String title;
+        private final String content;
+        private final UUID editorId;
+        private final long version;
+        private final long updatedAt;
+    }
+
+    /**
+     * Buffers a draft; null title or content leaves that part of an earlier draft as it was.
+     * Returns the draft's new version.
+     */
+    public long write(UUID postId, String title, String content, UUID editorId) {
+        long now = System.currentTimeMillis();
+        Long version = redisTemplate.execute(WRITE,
+                List.of(draftKey(postId), LAST_WRITE_KEY, WAITING_SINCE_KEY),
+                postId.toString(), String.valueOf(now), String.valueOf(Duration.ofMinutes(ttlMinutes).toMillis()),
+                editorId.toString(),
+                title != null ? "1" : "0", title != null ? title : "",
+                content != null ? "1" : "0", content != null ? content : "");
+        return version != null ? version : 0;
+    }
+
+    public Draft read(UUID postId) {
+        Map<Object, Object> fields;
+        try {
+            fields = redisTemplate.opsForHash().entries(draftKey(postId));
+        } catch (Exception e) {
+            log.error("Failed to read buffered draft of post {}", postId, e);
+            return null;
+        }
+        if (fields.isEmpty() || fields.get("editor") == null) {
+            return null;
+        }
+        return new Draft(
+                (String) fields.get("title"),
+                (String) fields.get("content"),
+                UUID.fromString((String) fields.get("editor")),
+                Long.parseLong((String) fields.get("version")),
+                Long.parseLong((String) fields.get("updatedAt")));
+    }
+
+    /**
+     * Drops a draft once it is saved, unless it has been written again since {@code version} was read.
+     */
+    public boolean discard(UUID postId, long version) {
+        try {
+            Long discarded = redisTemplate.execute(DISCARD,
+                    List.of(draftKey(postId), LAST_WRITE_KEY, WAITING_SINCE_KEY),
+                    String.valueOf(version), postId.toString(), String.valueOf(System.currentTimeMillis()));
+            return discarded != null && discarded == 1;
+        } catch (Exception e) {
+            log.error("Failed to discard buffered draft of post {}", postId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Forgets everything buffered for a post, e.g. after it was deleted.
+     */
+    public void delete(UUID postId) {
+        try {
+            redisTemplate.delete(List.of(draftKey(postId), accessKey(postId)));
+            redisTemplate.opsForZSet().remove(LAST_WRITE_KEY, postId.toString());
+            redisTemplate.opsForZSet().remove(WAITING_SINCE_KEY, postId.toString());
+        } catch (Exception e) {
+            log.error("Failed to drop buffered draft of post {}", postId, e);
+        }
+    }
+
+    /**
+     * Posts whose drafts were last written before {@code idleBefore} or have been waiting since
+     * before {@code waitingBefore}, in epoch milliseconds.
+     */
+    public Set<UUID> due(long idleBefore, long waitingBefore, int limit) {
+        Set<UUID> due = new LinkedHashSet<>();
+        addAll(due, redisTemplate.opsForZSet().rangeByScore(WAITING_SINCE_KEY, 0, waitingBefore, 0, limit));
+        addAll(due, redisTemplate.opsForZSet().rangeByScore(LAST_WRITE_KEY, 0, idleBefore, 0, limit));
+        return due;
+    }
+
+    /**
+     * Removes a post from the flush schedule when its draft has already expired.
+     */
+    public void forget(UUID postId) {
+        redisTemplate.opsForZSet().remove(LAST_WRITE_KEY, postId.toString());
+        redisTemplate.opsForZSet().remove(WAITING_SINCE_KEY, postId.toString());
+    }
+
+    // --- Access ---
+
+    /**
+     * The user id of a principal already cleared to autosave this post, or null.
+     */
+    public UUID grantedEditor(UUID postId, String principal) {
+        Object editorId = redisTemplate.opsForHash().get(accessKey(postId), principal);
+        return editorId != null ? UUID.fromString((String) editorId) : null;
+    }
+
+    public void grant(UUID postId, String principal, UUID editorId) {
+        redisTemplate.opsForHash().put(accessKey(postId), principal, editorId.toString());
+        redisTemplate.expire(accessKey(postId), Duration.ofMinutes(ttlMinutes));
+    }
+
+    private static void addAll(Set<UUID> target, Set<String> ids) {
+        if (ids != null) {
+            ids.forEach(id -> target.add(UUID.fromString(id)));
+        }
+    }
+
+    private static String draftKey(UUID postId) {
+        return DRAFT_PREFIX + postId;
+    }
+
+    private static String accessKey(UUID postId) {
+        return ACCESS_PREFIX + postId;
+    }
+}
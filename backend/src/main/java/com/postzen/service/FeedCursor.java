@@ -0,0 +1,37 @@
+package com.postzen.service;
+
+import com.postzen.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in the published feed or a home timeline: the (publishedAt, id) pair
+ * of the last post a client has seen. Signed, since feed pages are cached by cursor.
+ */
+@Getter
+@AllArgsConstructor
+class FeedCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String KIND = "feed";
+
+    private final LocalDateTime publishedAt;
+    private final UUID id;
+
+    String encode(CursorSigner signer) {
+        return signer.sign(KIND, publishedAt + SEPARATOR + id);
+    }
+
+    static FeedCursor decode(String cursor, CursorSigner signer) {
+        String raw = signer.verify(KIND, cursor);
+        try {
+            int idx = raw.indexOf(SEPARATOR);
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, idx)), UUID.fromString(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
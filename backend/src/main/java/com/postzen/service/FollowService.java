@@ -0,0 +1,92 @@
+package com.postzen.service;
+
+import com.postzen.entity.Follow;
+import com.postzen.entity.User;
+import com.postzen.exception.BadRequestException;
+import com.postzen.exception.ForbiddenException;
+import com.postzen.exception.ResourceNotFoundException;
+import com.postzen.repository.FollowRepository;
+import com.postzen.repository.UserRepository;
+import com.postzen.security.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FollowService {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final SecurityUtils securityUtils;
+    private final TimelineService timelineService;
+
+    @Transactional
+    public void follow(UUID userId) {
+        User currentUser = requireCurrentUser();
+        if (currentUser.getId().equals(userId)) {
+            throw new BadRequestException("You cannot follow yourself");
+        }
+
+        User followee = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (followRepository.existsByFollowerIdAndFolloweeId(currentUser.getId(), userId)) {
+            throw new BadRequestException("You are already following this user");
+        }
+
+        try {
+            // Flushed here so a concurrent follow that won the race is reported before the counters move
+            followRepository.saveAndFlush(Follow.builder()
+                    .follower(currentUser)
+                    .followee(followee)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateFollow(e)) {
+                throw new BadRequestException("You are already following this user");
+            }
+            throw e;
+        }
+        userRepository.incrementFollowerCount(userId, 1);
+        userRepository.incrementFollowingCount(currentUser.getId(), 1);
+        timelineService.markPulledIfOverThreshold(userId);
+
+        UUID followerId = currentUser.getId();
+        AfterCommit.run(() -> timelineService.backfill(followerId, followee));
+        log.info("{} followed {}", currentUser.getUsername(), followee.getUsername());
+    }
+
+    @Transactional
+    public void unfollow(UUID userId) {
+        User currentUser = requireCurrentUser();
+        if (followRepository.deleteByPair(currentUser.getId(), userId) == 0) {
+            throw new ResourceNotFoundException("You are not following this user");
+        }
+        // Before the decrement, for authors who reached the threshold before the mark existed
+        timelineService.markPulledIfOverThreshold(userId);
+        userRepository.incrementFollowerCount(userId, -1);
+        userRepository.incrementFollowingCount(currentUser.getId(), -1);
+
+        UUID followerId = currentUser.getId();
+        AfterCommit.run(() -> timelineService.removeAuthor(followerId, userId));
+        log.info("{} unfollowed {}", currentUser.getUsername(), userId);
+    }
+
+    private static boolean isDuplicateFollow(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains(Follow.UNIQUE_PAIR);
+    }
+
+    private User requireCurrentUser() {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            throw new ForbiddenException("Authentication required");
+        }
+        return currentUser;
+    }
+}
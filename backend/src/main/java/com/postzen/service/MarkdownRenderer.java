@@ -0,0 +1,35 @@
+package com.postzen.service;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders post markdown to safe HTML. Raw HTML in the source is escaped rather than passed
+ * through, and link and image URLs are restricted to safe schemes, so the output can be
+ * embedded as-is. Parser and renderer are immutable and shared across threads.
+ */
+@Component
+public class MarkdownRenderer {
+
+    /**
+     * Part of every render cache key; bump it whenever the output for the same markdown changes.
+     */
+    static final String VERSION = "1";
+
+    private final Parser parser = Parser.builder().build();
+
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                if ("a".equals(tagName)) {
+                    attributes.put("rel", "nofollow noopener noreferrer");
+                }
+            })
+            .build();
+
+    public String render(String markdown) {
+        return renderer.render(parser.parse(markdown != null ? markdown : ""));
+    }
+}
@@ -0,0 +1,93 @@
+package com.postzen.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.postzen.dto.response.PostExportRecord;
+import com.postzen.entity.Comment;
+import com.postzen.entity.Post;
+import com.postzen.repository.CommentRepository;
+import com.postzen.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams every post with its comments as NDJSON. Posts and comments are read through two
+ * forward-only cursors sorted by post id and merged as they go, so each post costs no extra
+ * query; entities are detached once written and the persistence context is cleared
+ * periodically, keeping the heap flat however large the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the export and returns the number of posts. Repeatable read gives both cursors
+     * the same snapshot, so every comment's post is in the post stream.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long export(OutputStream target, boolean gzip) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(target, BUFFER_SIZE) : null;
+        OutputStream out = new BufferedOutputStream(compressed != null ? compressed : target, BUFFER_SIZE);
+        // One record per line; flushing is left to the buffer
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+        long count = 0;
+        try (Stream<Post> posts = postRepository.streamAllOrderById();
+                Stream<Comment> comments = commentRepository.streamAllOrderByPostId()) {
+            Iterator<Comment> commentCursor = comments.iterator();
+            Comment next = commentCursor.hasNext() ? commentCursor.next() : null;
+
+            for (Iterator<Post> postCursor = posts.iterator(); postCursor.hasNext(); ) {
+                Post post = postCursor.next();
+                List<PostExportRecord.CommentRecord> postComments = new ArrayList<>();
+                while (next != null && next.getPost().getId().equals(post.getId())) {
+                    postComments.add(PostExportRecord.CommentRecord.fromEntity(next));
+                    entityManager.detach(next);
+                    next = commentCursor.hasNext() ? commentCursor.next() : null;
+                }
+
+                writer.writeValue(out, PostExportRecord.fromEntity(post, postComments));
+                out.write('\n');
+                entityManager.detach(post);
+                // Authors are shared by many rows and stay attached; drop them now and then
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        out.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} posts", count);
+        return count;
+    }
+}
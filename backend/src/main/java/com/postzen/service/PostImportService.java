@@ -0,0 +1,294 @@
+package com.postzen.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postzen.dto.request.ImportPostRequest;
+import com.postzen.dto.response.ImportResultResponse;
+import com.postzen.entity.Post;
+import com.postzen.entity.User;
+import com.postzen.exception.ForbiddenException;
+import com.postzen.repository.UserRepository;
+import com.postzen.repository.UsernameView;
+import com.postzen.security.SecurityUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk post import from NDJSON, one post per line. The body is read line by line so only one
+ * chunk is ever in memory; each chunk gets its slugs in one pass and is inserted with a single
+ * JDBC batch in its own transaction. Feed caches, autocomplete, the sitemap and the search
+ * index are brought up to date once at the end instead of per post. Timelines are not fanned
+ * out: imported posts are back catalogue, not news.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO posts (id, author_id, title, content, excerpt, slug, " +
+            "status, scheduled_at, published_at, created_at, updated_at, comment_count, view_count, unique_readers) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0)";
+    private static final int[] INSERT_TYPES = { Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP,
+            Types.TIMESTAMP };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final SlugAllocator slugAllocator;
+    private final UserRepository userRepository;
+    private final SecurityUtils securityUtils;
+    private final PostService postService;
+    private final AutocompleteService autocompleteService;
+    private final SyndicationService syndicationService;
+
+    @Value("${app.import.batch-size}")
+    private int batchSize;
+
+    @Value("${app.import.max-errors}")
+    private int maxErrors;
+
+    @Getter
+    @AllArgsConstructor
+    private static class Row {
+        private final long line;
+        private final ImportPostRequest post;
+    }
+
+    /**
+     * Counters, reported errors and resolved authors for one import.
+     */
+    private class Run {
+        final UUID defaultAuthorId;
+        final Map<String, UUID> authors = new HashMap<>();
+        final List<ImportResultResponse.RecordError> errors = new ArrayList<>();
+        long received;
+        long imported;
+        long published;
+        long failed;
+
+        Run(UUID defaultAuthorId) {
+            this.defaultAuthorId = defaultAuthorId;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportResultResponse.RecordError(line, message));
+            }
+        }
+
+        ImportResultResponse toResponse() {
+            return ImportResultResponse.builder()
+                    .received(received)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+
+    public ImportResultResponse importPosts(InputStream body) {
+        User admin = securityUtils.getCurrentUser();
+        if (admin == null)
+            throw new ForbiddenException("Authentication required");
+
+        Run run = new Run(admin.getId());
+        List<Row> chunk = new ArrayList<>(batchSize);
+        long line = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                run.received++;
+                Row row = parse(line, text, run);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    insertChunk(chunk, run);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Post import body unreadable after line {}", line, e);
+            run.fail(line + 1, "Import body could not be read past this line: " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, run);
+        }
+
+        if (run.imported > 0) {
+            finish(run);
+        }
+        log.info("Post import by {}: {} received, {} imported, {} failed",
+                admin.getEmail(), run.received, run.imported, run.failed);
+        return run.toResponse();
+    }
+
+    private Row parse(long line, String text, Run run) {
+        ImportPostRequest post;
+        try {
+            post = objectMapper.readValue(text, ImportPostRequest.class);
+        } catch (JsonProcessingException e) {
+            run.fail(line, "Malformed record: " + e.getOriginalMessage());
+            return null;
+        }
+        Set<ConstraintViolation<ImportPostRequest>> violations = validator.validate(post);
+        if (!violations.isEmpty()) {
+            run.fail(line, violations.stream().map(ConstraintViolation::getMessage).sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        if (post.getStatus() == null) {
+            post.setStatus(Post.Status.DRAFT);
+        }
+        if (post.getStatus() == Post.Status.SCHEDULED && post.getScheduledAt() == null) {
+            run.fail(line, "Scheduled posts need scheduledAt");
+            return null;
+        }
+        return new Row(line, post);
+    }
+
+    private void insertChunk(List<Row> chunk, Run run) {
+        resolveAuthors(chunk, run);
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (authorOf(row, run) == null) {
+                run.fail(row.getLine(), "Unknown author: " + row.getPost().getAuthorUsername());
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> slugs = slugAllocator.allocateAll(rows.stream().map(row -> row.getPost().getTitle()).toList());
+        List<Object[]> params = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            params.add(toParams(rows.get(i), slugs.get(i), run));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, params, INSERT_TYPES));
+            rows.forEach(row -> countImported(row, run));
+        } catch (DataIntegrityViolationException e) {
+            // Usually a slug created concurrently elsewhere; find the offending rows one at a time
+            log.warn("Import chunk ending at line {} rejected, inserting its rows one by one",
+                    rows.get(rows.size() - 1).getLine());
+            for (int i = 0; i < rows.size(); i++) {
+                insertOne(rows.get(i), params.get(i), run);
+            }
+        }
+    }
+
+    private void insertOne(Row row, Object[] params, Run run) {
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, params, INSERT_TYPES));
+            } catch (DataIntegrityViolationException e) {
+                if (!slugAllocator.isSlugConflict(e)) {
+                    throw e;
+                }
+                Object[] retry = toParams(row, slugAllocator.allocate(row.getPost().getTitle(), true), run);
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, retry, INSERT_TYPES));
+            }
+            countImported(row, run);
+        } catch (DataIntegrityViolationException e) {
+            run.fail(row.getLine(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void resolveAuthors(List<Row> chunk, Run run) {
+        Set<String> missing = new HashSet<>();
+        for (Row row : chunk) {
+            String username = row.getPost().getAuthorUsername();
+            if (username != null && !run.authors.containsKey(username)) {
+                missing.add(username);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (UsernameView user : userRepository.findIdsByUsernames(missing)) {
+            run.authors.put(user.getUsername(), user.getId());
+        }
+    }
+
+    private static UUID authorOf(Row row, Run run) {
+        String username = row.getPost().getAuthorUsername();
+        return username == null ? run.defaultAuthorId : run.authors.get(username);
+    }
+
+    private static Object[] toParams(Row row, String slug, Run run) {
+        ImportPostRequest post = row.getPost();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime publishedAt = post.getStatus() == Post.Status.PUBLISHED
+                ? (post.getPublishedAt() != null ? post.getPublishedAt() : now)
+                : null;
+        LocalDateTime createdAt = post.getCreatedAt() != null ? post.getCreatedAt()
+                : publishedAt != null ? publishedAt : now;
+        return new Object[] { UUID.randomUUID(), authorOf(row, run), post.getTitle(), post.getContent(),
+                Post.excerptOf(post.getContent()), slug, post.getStatus().name(), post.getScheduledAt(),
+                publishedAt, createdAt, now };
+    }
+
+    private static void countImported(Row row, Run run) {
+        run.imported++;
+        if (row.getPost().getStatus() == Post.Status.PUBLISHED) {
+            run.published++;
+        }
+    }
+
+    /**
+     * The per-post side effects of a normal write, done once for the whole import. Search vectors
+     * are generated on insert, but GIN defers most of the index work to its pending list; merging
+     * it here keeps the first searches after an import from paying for it.
+     */
+    private void finish(Run run) {
+        if (run.published > 0) {
+            postService.refreshFeeds();
+            autocompleteService.reloadPosts();
+            syndicationService.requestRebuild();
+        }
+        try {
+            jdbcTemplate.queryForObject("SELECT gin_clean_pending_list('idx_posts_search'::regclass)", Long.class);
+            jdbcTemplate.execute("ANALYZE posts");
+        } catch (Exception e) {
+            log.error("Failed to refresh search index after import", e);
+        }
+    }
+}
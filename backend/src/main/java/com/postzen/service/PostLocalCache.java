@@ -0,0 +1,88 @@
+package com.postzen.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.postzen.dto.response.CacheStatsResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * In-process L1 cache for published posts, sitting in front of the {@code post:} Redis keys.
+ * Holds each post's JSON body and ETag, ready to be written to the response as-is.
+ * Evictions are broadcast over Redis pub/sub so every node drops its copy of a changed post.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostLocalCache implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "post:invalidate";
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${app.cache.local.max-size}")
+    private long maxSize;
+
+    @Value("${app.cache.local.ttl-seconds}")
+    private long ttlSeconds;
+
+    private Cache<String, CachedResponse<byte[]>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public CachedResponse<byte[]> get(String slug) {
+        return cache.getIfPresent(slug);
+    }
+
+    public void put(String slug, CachedResponse<byte[]> post) {
+        cache.put(slug, post);
+    }
+
+    /**
+     * Drops the slug locally and tells every other node to do the same.
+     */
+    public void invalidate(String slug) {
+        cache.invalidate(slug);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, NODE_ID + ":" + slug);
+        } catch (Exception e) {
+            log.error("Failed to broadcast local cache invalidation for post: {}", slug, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int idx = body.indexOf(':');
+        if (idx < 0 || body.substring(0, idx).equals(NODE_ID)) {
+            return;
+        }
+        cache.invalidate(body.substring(idx + 1));
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of(cache.stats(), cache.estimatedSize());
+    }
+}
@@ -0,0 +1,271 @@
+package com.postzen.service;
+
+import com.postzen.dto.response.CursorResponse;
+import com.postzen.dto.response.PostRevisionResponse;
+import com.postzen.dto.response.RevisionDiffResponse;
+import com.postzen.entity.Post;
+import com.postzen.entity.PostRevision;
+import com.postzen.entity.User;
+import com.postzen.exception.BadRequestException;
+import com.postzen.exception.ForbiddenException;
+import com.postzen.exception.ResourceNotFoundException;
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostRevisionRepository;
+import com.postzen.repository.PostRevisionView;
+import com.postzen.security.SecurityUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Revision history of posts. Every {@code snapshot-interval} revisions, or sooner when the deltas
+ * since the last snapshot outweigh the text itself, the full content is stored deflated; in
+ * between, each revision is a {@link TextDelta} against the one before. Rebuilding a revision
+ * therefore reads one snapshot and fewer than {@code snapshot-interval} deltas in one query, and
+ * history listings never read stored content at all.
+ * <p>
+ * Deltas are taken against the post's content before the update, so callers must hold the post
+ * row lock while recording.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostRevisionService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final PostRevisionRepository postRevisionRepository;
+    private final PostRepository postRepository;
+    private final SecurityUtils securityUtils;
+
+    @Value("${app.revisions.snapshot-interval}")
+    private int snapshotInterval;
+
+    /**
+     * A rebuilt revision: its metadata plus full title and content.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Revision {
+        private final PostRevisionView view;
+        private final String content;
+
+        public String getTitle() {
+            return view.getTitle();
+        }
+    }
+
+    // --- Recording ---
+
+    void recordCreated(Post post, User editor) {
+        save(post, post.getTitle(), post.getContent(), 1, PostRevision.Kind.SNAPSHOT, 1,
+                TextDelta.compress(post.getContent()), 0, editor);
+    }
+
+    /**
+     * Records the post's new title and content, given what they were before this update.
+     * Does nothing when neither changed.
+     */
+    void recordUpdate(Post post, String previousTitle, String previousContent, User editor) {
+        if (Objects.equals(previousTitle, post.getTitle()) && Objects.equals(previousContent, post.getContent())) {
+            return;
+        }
+        PostRevisionView latest = latest(post.getId());
+        if (latest == null) {
+            // Written before history was kept, or imported: start the history from what was there
+            save(post, previousTitle, previousContent, 1, PostRevision.Kind.SNAPSHOT, 1,
+                    TextDelta.compress(previousContent), 0, post.getAuthor());
+            latest = latest(post.getId());
+        }
+
+        int revision = latest.getRevision() + 1;
+        byte[] full = TextDelta.compress(post.getContent());
+        if (revision - latest.getSnapshotRevision() >= snapshotInterval) {
+            save(post, post.getTitle(), post.getContent(), revision, PostRevision.Kind.SNAPSHOT, revision, full, 0,
+                    editor);
+            return;
+        }
+        byte[] delta = TextDelta.encode(previousContent, post.getContent());
+        if (latest.getChainBytes() + delta.length > 2 * full.length) {
+            // Cheaper to start over than to keep paying for this chain on every read
+            save(post, post.getTitle(), post.getContent(), revision, PostRevision.Kind.SNAPSHOT, revision, full, 0,
+                    editor);
+        } else {
+            save(post, post.getTitle(), post.getContent(), revision, PostRevision.Kind.DELTA,
+                    latest.getSnapshotRevision(), delta, latest.getChainBytes(), editor);
+        }
+    }
+
+    private void save(Post post, String title, String content, int revision, PostRevision.Kind kind,
+            int snapshotRevision, byte[] data, int chainBytesBefore, User editor) {
+        postRevisionRepository.save(PostRevision.builder()
+                .post(post)
+                .revision(revision)
+                .kind(kind)
+                .snapshotRevision(snapshotRevision)
+                .title(title)
+                .data(data)
+                .contentLength(content.length())
+                .contentCrc(crcOf(content))
+                .chainBytes(chainBytesBefore + data.length)
+                .editor(editor)
+                .build());
+    }
+
+    private PostRevisionView latest(UUID postId) {
+        List<PostRevisionView> latest = postRevisionRepository.findHistory(postId, Integer.MAX_VALUE,
+                PageRequest.of(0, 1));
+        return latest.isEmpty() ? null : latest.get(0);
+    }
+
+    // --- Reading ---
+
+    @Transactional(readOnly = true)
+    public CursorResponse<PostRevisionResponse> getHistory(UUID postId, String cursor, int size) {
+        checkAccess(postId);
+        int before = Integer.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                before = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<PostRevisionView> rows = postRevisionRepository.findHistory(postId, before, PageRequest.of(0, limit + 1));
+
+        boolean hasNext = rows.size() > limit;
+        List<PostRevisionView> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? String.valueOf(page.get(page.size() - 1).getRevision()) : null;
+        return CursorResponse.of(page.stream().map(view -> PostRevisionResponse.fromView(view, null)).toList(),
+                page.size(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public PostRevisionResponse getRevision(UUID postId, int revision) {
+        checkAccess(postId);
+        Revision rebuilt = rebuild(postId, revision);
+        return PostRevisionResponse.fromView(rebuilt.getView(), rebuilt.getContent());
+    }
+
+    /**
+     * Title and content of a revision, for restoring it.
+     */
+    @Transactional(readOnly = true)
+    public Revision loadRevision(UUID postId, int revision) {
+        checkAccess(postId);
+        return rebuild(postId, revision);
+    }
+
+    @Transactional(readOnly = true)
+    public RevisionDiffResponse diff(UUID postId, int from, int to) {
+        checkAccess(postId);
+        Revision older = rebuild(postId, from);
+        Revision newer = rebuild(postId, to);
+
+        List<String> base = TextDelta.lines(older.getContent());
+        List<RevisionDiffResponse.Chunk> chunks = new ArrayList<>();
+        int position = 0;
+        for (TextDelta.Op op : TextDelta.compute(base, TextDelta.lines(newer.getContent()))) {
+            if (!op.isCopy()) {
+                add(chunks, RevisionDiffResponse.ChangeType.INSERT, TextDelta.lines(op.getText()).size(), op.getText());
+            } else if (op.getStart() >= position) {
+                if (op.getStart() > position) {
+                    add(chunks, RevisionDiffResponse.ChangeType.DELETE, op.getStart() - position,
+                            String.join("", base.subList(position, op.getStart())));
+                }
+                add(chunks, RevisionDiffResponse.ChangeType.EQUAL, op.getCount(), null);
+                position = op.getStart() + op.getCount();
+            } else {
+                // Lines moved up from further back are shown as inserted again
+                add(chunks, RevisionDiffResponse.ChangeType.INSERT, op.getCount(),
+                        String.join("", base.subList(op.getStart(), op.getStart() + op.getCount())));
+            }
+        }
+        if (position < base.size()) {
+            add(chunks, RevisionDiffResponse.ChangeType.DELETE, base.size() - position,
+                    String.join("", base.subList(position, base.size())));
+        }
+
+        return RevisionDiffResponse.builder()
+                .fromRevision(from)
+                .toRevision(to)
+                .fromTitle(older.getTitle())
+                .toTitle(newer.getTitle())
+                .linesAdded(count(chunks, RevisionDiffResponse.ChangeType.INSERT))
+                .linesRemoved(count(chunks, RevisionDiffResponse.ChangeType.DELETE))
+                .chunks(chunks)
+                .build();
+    }
+
+    private static void add(List<RevisionDiffResponse.Chunk> chunks, RevisionDiffResponse.ChangeType type,
+            int lines, String text) {
+        RevisionDiffResponse.Chunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last != null && last.getType() == type) {
+            last.setLines(last.getLines() + lines);
+            if (text != null) {
+                last.setText(last.getText() + text);
+            }
+            return;
+        }
+        chunks.add(RevisionDiffResponse.Chunk.builder().type(type).lines(lines).text(text).build());
+    }
+
+    private static int count(List<RevisionDiffResponse.Chunk> chunks, RevisionDiffResponse.ChangeType type) {
+        return chunks.stream().filter(chunk -> chunk.getType() == type)
+                .mapToInt(RevisionDiffResponse.Chunk::getLines).sum();
+    }
+
+    private Revision rebuild(UUID postId, int revision) {
+        PostRevisionView view = postRevisionRepository.findView(postId, revision)
+                .orElseThrow(() -> new ResourceNotFoundException("Revision not found"));
+        List<PostRevision> chain = postRevisionRepository.findChain(postId, view.getSnapshotRevision(), revision);
+        if (chain.isEmpty() || chain.get(0).getKind() != PostRevision.Kind.SNAPSHOT) {
+            throw new IllegalStateException("Revision " + revision + " of post " + postId + " has no snapshot");
+        }
+        String content = TextDelta.decompress(chain.get(0).getData());
+        verify(chain.get(0), content);
+        for (PostRevision delta : chain.subList(1, chain.size())) {
+            content = TextDelta.apply(content, delta.getData());
+            verify(delta, content);
+        }
+        return new Revision(view, content);
+    }
+
+    /**
+     * A delta applied to the wrong base still yields text; the stored checksum is what tells a
+     * corrupt chain apart from a real revision, and names the first revision that went wrong.
+     */
+    private static void verify(PostRevision stored, String content) {
+        if (stored.getContentCrc() != null && stored.getContentCrc() != crcOf(content)) {
+            throw new IllegalStateException("Revision " + stored.getRevision() + " of post "
+                    + stored.getPost().getId() + " does not match its checksum");
+        }
+    }
+
+    private static long crcOf(String content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private void checkAccess(UUID postId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        if (!securityUtils.canModifyResource(post.getAuthor().getId())) {
+            throw new ForbiddenException("You don't have permission to view this post's history");
+        }
+    }
+}
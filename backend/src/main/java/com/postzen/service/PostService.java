@@ -2,33 +2,44 @@ package com.postzen.service;
 
 import com.postzen.dto.request.CreatePostRequest;
 import com.postzen.dto.request.UpdatePostRequest;
+import com.postzen.dto.response.CursorResponse;
+import com.postzen.dto.response.PostSearchResponse;
 import com.postzen.dto.response.PostResponse;
 import com.postzen.dto.response.PostSummaryResponse;
 import com.postzen.entity.Post;
 import com.postzen.entity.User;
+import com.postzen.exception.BadRequestException;
 import com.postzen.exception.ForbiddenException;
 import com.postzen.exception.ResourceNotFoundException;
+import com.postzen.repository.CommentRepository;
 import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostSearchView;
+import com.postzen.repository.PostSummaryView;
+import com.postzen.repository.PublishedPostView;
+import com.postzen.repository.UserRepository;
 import com.postzen.security.SecurityUtils;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.text.Normalizer;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -36,102 +47,303 @@ import java.util.regex.Pattern;
 public class PostService {
 
     private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CommentService commentService;
+    private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final PostLocalCache postLocalCache;
+    private final SingleFlightCache singleFlightCache;
+    private final AutocompleteService autocompleteService;
+    private final SlugAllocator slugAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final PublishTimerWheel publishTimerWheel;
+    private final TimelineService timelineService;
+    private final ViewTracker viewTracker;
+    private final RenderCache renderCache;
+    private final StaticSite staticSite;
+    private final SyndicationService syndicationService;
+    private final PostRevisionService postRevisionService;
+    private final DraftBuffer draftBuffer;
+    private final CursorSigner cursorSigner;
 
     private static final String CACHE_PREFIX = "post:";
-    private static final String CACHE_FEED_KEY = "posts:feed:page:0";
+    private static final String CACHE_FEED_PREFIX = "posts:feed:";
+    private static final String CACHE_FEED_GENERATION_KEY = "posts:feed:generation";
+    private static final int MAX_FEED_SIZE = 50;
     private static final Duration CACHE_TTL = Duration.ofMinutes(10);
-    private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
-    private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
+    private static final Duration MISSING_TTL = Duration.ofSeconds(30);
+    private static final int MAX_SLUG_ATTEMPTS = 3;
 
     // --- Caching Helper Methods ---
 
-    private void cachePage0(Page<PostSummaryResponse> page) {
+    private String currentFeedGeneration() {
         try {
-            com.postzen.dto.response.PagedResponse<PostSummaryResponse> wrapper = com.postzen.dto.response.PagedResponse
-                    .from(page);
-            String json = objectMapper.writeValueAsString(wrapper);
-            redisTemplate.opsForValue().set(CACHE_FEED_KEY, json, CACHE_TTL);
+            String generation = redisTemplate.opsForValue().get(CACHE_FEED_GENERATION_KEY);
+            return generation != null ? generation : "0";
         } catch (Exception e) {
-            log.error("Failed to cache feed", e);
+            log.error("Failed to read feed generation", e);
+            return "0";
         }
     }
 
+    private String feedPageKey(Pageable pageable) {
+        String sort = pageable.getSort().toString().replace(" ", "");
+        return CACHE_FEED_PREFIX + "v" + currentFeedGeneration() + ":pageimpl:" + pageable.getPageNumber()
+                + ":size:" + pageable.getPageSize() + ":sort:" + sort;
+    }
+
+    private String feedCursorKey(String cursor, int size) {
+        return CACHE_FEED_PREFIX + "v" + currentFeedGeneration() + ":cursor:" + (cursor != null ? cursor : "head")
+                + ":size:" + size;
+    }
+
+    /**
+     * Feed pages are cached as the exact JSON body of the response, so a hit is
+     * written out as-is without ever being deserialized.
+     */
+    private CachedResponse<byte[]> readThroughFeedCache(String key, String ifNoneMatch, Supplier<?> loader) {
+        CacheEntry entry = singleFlightCache.get(key, CACHE_TTL, () -> objectMapper.writeValueAsString(loader.get()));
+        if (CachedResponse.matches(ifNoneMatch, entry.getEtag())) {
+            return CachedResponse.notModified(entry.getEtag());
+        }
+        return CachedResponse.of(entry.getPayloadBytes(), entry.getEtag());
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    /**
+     * Moves every feed reader onto a fresh key space; pages cached under older
+     * generations are never read again and simply expire. The bump waits for the
+     * surrounding transaction to commit so no reader can cache pre-commit rows
+     * under the new generation.
+     */
     private void invalidateFeedCache() {
-        redisTemplate.delete(CACHE_FEED_KEY);
+        AfterCommit.run(() -> {
+            redisTemplate.opsForValue().increment(CACHE_FEED_GENERATION_KEY);
+            staticSite.markFeed();
+        });
     }
 
-    private void updateSinglePostCache(Post post) {
+    private PostResponse toResponse(Post post) {
+        return PostResponse.fromEntity(post, renderCache.get(post.getContent()));
+    }
+
+    /**
+     * Caches a published post and returns its ETag; drafts are not cached and get none.
+     */
+    private String updateSinglePostCache(Post post) {
         if (post.getStatus() == Post.Status.PUBLISHED) {
             try {
-                String json = objectMapper.writeValueAsString(PostResponse.fromEntity(post));
-                redisTemplate.opsForValue().set(CACHE_PREFIX + post.getSlug(), json, CACHE_TTL);
+                String json = objectMapper.writeValueAsString(toResponse(post));
+                CacheEntry entry = singleFlightCache.put(CACHE_PREFIX + post.getSlug(), json, CACHE_TTL);
+                postLocalCache.invalidate(post.getSlug());
+                postLocalCache.put(post.getSlug(), CachedResponse.of(entry.getPayloadBytes(), entry.getEtag()));
+                return entry.getEtag();
             } catch (Exception e) {
                 log.error("Failed to update cache for post: {}", post.getSlug(), e);
             }
         }
+        return null;
+    }
+
+    private void updateSuggestions(Post post) {
+        UUID id = post.getId();
+        String title = post.getTitle();
+        String slug = post.getSlug();
+        LocalDateTime publishedAt = post.getPublishedAt();
+        boolean published = post.getStatus() == Post.Status.PUBLISHED;
+        AfterCommit.run(() -> {
+            if (published) {
+                autocompleteService.putPost(id, title, slug, publishedAt);
+            } else {
+                autocompleteService.removePost(id);
+            }
+        });
+    }
+
+    private void updateSyndication(Post post) {
+        UUID id = post.getId();
+        AfterCommit.run(() -> syndicationService.markPost(id));
+    }
+
+    private void fanOut(Post post) {
+        UUID id = post.getId();
+        UUID authorId = post.getAuthor().getId();
+        LocalDateTime publishedAt = post.getPublishedAt();
+        AfterCommit.run(() -> timelineService.fanOut(id, authorId, publishedAt));
+    }
+
+    private void scheduleIfPending(Post post) {
+        if (post.getStatus() == Post.Status.SCHEDULED && post.getScheduledAt() != null) {
+            UUID id = post.getId();
+            LocalDateTime scheduledAt = post.getScheduledAt();
+            AfterCommit.run(() -> publishTimerWheel.schedule(id, scheduledAt));
+        }
     }
 
     private void invalidateSinglePostCache(String slug) {
         redisTemplate.delete(CACHE_PREFIX + slug);
+        postLocalCache.invalidate(slug);
+    }
+
+    /**
+     * Starts rendering the saved content in the background and, for a published post, drops
+     * the cached copy once the write commits. The next reader reloads the post and picks up
+     * the HTML from the render cache, waiting on the in-flight render if it has not finished.
+     */
+    private void renderAndRefresh(Post post) {
+        String content = post.getContent();
+        String slug = post.getSlug();
+        boolean published = post.getStatus() == Post.Status.PUBLISHED;
+        AfterCommit.run(() -> {
+            renderCache.renderAsync(content);
+            if (published) {
+                invalidateSinglePostCache(slug);
+            }
+            staticSite.markPost(slug);
+        });
+    }
+
+    /**
+     * The author's copy of a just-saved post; carries HTML only if this content was rendered before.
+     */
+    private PostResponse toWriteResponse(Post post) {
+        return PostResponse.fromEntity(post, renderCache.getIfRendered(post.getContent()));
     }
 
     // --- Core Logic ---
 
-    public Page<PostSummaryResponse> getPublishedPosts(Pageable pageable) {
-        // Smart Caching: Only cache the first page (index 0)
-        if (pageable.getPageNumber() == 0) {
-            try {
-                String cachedFeed = redisTemplate.opsForValue().get(CACHE_FEED_KEY);
-                if (cachedFeed != null) {
-                    com.postzen.dto.response.PagedResponse<PostSummaryResponse> wrapper = objectMapper.readValue(
-                            cachedFeed,
-                            new com.fasterxml.jackson.core.type.TypeReference<com.postzen.dto.response.PagedResponse<PostSummaryResponse>>() {
-                            });
-                    return new PageImpl<>(wrapper.getContent(), pageable, wrapper.getTotalElements());
-                }
-            } catch (Exception e) {
-                log.error("Feed cache miss/error", e);
-            }
+    /**
+     * JSON body of a {@code Page<PostSummaryResponse>}.
+     */
+    public CachedResponse<byte[]> getPublishedPosts(Pageable pageable, String ifNoneMatch) {
+        return readThroughFeedCache(feedPageKey(pageable), ifNoneMatch,
+                () -> postRepository.findPublishedSummaries(pageable).map(PostSummaryResponse::fromView));
+    }
+
+    /**
+     * JSON body of a {@code CursorResponse<PostSummaryResponse>}.
+     */
+    public CachedResponse<byte[]> getPublishedFeed(String cursor, int size, String ifNoneMatch) {
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        FeedCursor position = cursor != null ? FeedCursor.decode(cursor, cursorSigner) : null;
+
+        return readThroughFeedCache(feedCursorKey(cursor, limit), ifNoneMatch, () -> loadFeed(position, limit));
+    }
+
+    private CursorResponse<PostSummaryResponse> loadFeed(FeedCursor position, int limit) {
+        Pageable pageable = PageRequest.ofSize(limit);
+        Slice<PostSummaryView> slice;
+        if (position == null) {
+            slice = postRepository.findPublishedFeed(pageable);
+        } else {
+            slice = postRepository.findPublishedFeedAfter(position.getPublishedAt(), position.getId(), pageable);
         }
 
-        Page<PostSummaryResponse> page = postRepository.findPublishedPosts(pageable)
-                .map(PostSummaryResponse::fromEntity);
+        List<PostSummaryView> posts = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            PostSummaryView last = posts.get(posts.size() - 1);
+            nextCursor = new FeedCursor(last.getPublishedAt(), last.getId()).encode(cursorSigner);
+        }
 
-        if (pageable.getPageNumber() == 0) {
-            cachePage0(page);
+        return CursorResponse.of(posts.stream().map(PostSummaryResponse::fromView).toList(), limit, nextCursor);
+    }
+
+    public CursorResponse<PostSearchResponse> searchPosts(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        SearchCursor position = cursor != null ? SearchCursor.decode(cursor) : null;
+
+        // Fetch one extra hit to learn whether another page exists
+        List<PostSearchView> hits = position == null
+                ? postRepository.searchPublished(query, limit + 1)
+                : postRepository.searchPublishedAfter(query, position.getRank(), position.getId(), limit + 1);
+
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            PostSearchView last = hits.get(limit - 1);
+            nextCursor = new SearchCursor(last.getRank(), last.getId()).encode();
         }
 
-        return page;
+        return CursorResponse.of(hits.stream().map(PostSearchResponse::fromView).toList(), limit, nextCursor);
     }
 
     public Page<PostSummaryResponse> getPostsByAuthor(UUID authorId, Pageable pageable) {
         User currentUser = securityUtils.getCurrentUser();
         // Show all posts for owner or admin, otherwise only published
         if (currentUser != null && (currentUser.getId().equals(authorId) || securityUtils.isAdmin())) {
-            return postRepository.findByAuthorId(authorId, pageable)
-                    .map(PostSummaryResponse::fromEntity);
+            return postRepository.findSummariesByAuthorId(authorId, pageable)
+                    .map(PostSummaryResponse::fromView);
         }
-        return postRepository.findByAuthorIdAndStatus(authorId, Post.Status.PUBLISHED, pageable)
-                .map(PostSummaryResponse::fromEntity);
+        return postRepository.findSummariesByAuthorIdAndStatus(authorId, Post.Status.PUBLISHED, pageable)
+                .map(PostSummaryResponse::fromView);
     }
 
-    public PostResponse getPostBySlug(String slug) {
-        // 1. Try to fetch from cache
+    /**
+     * JSON body of a {@link PostResponse}.
+     */
+    public CachedResponse<byte[]> getPostBySlug(String slug, String clientAddress, String ifNoneMatch) {
+        CachedResponse<byte[]> post = findPostBySlug(slug, ifNoneMatch);
+        // Only published posts are cached and tagged, so this skips drafts without parsing the body;
+        // a 304 is a revalidation of a copy the client already has, not a new read
+        if (post.getEtag() != null && !post.isNotModified()) {
+            String principal = securityUtils.getCurrentPrincipalName();
+            viewTracker.record(slug, principal != null ? "u:" + principal : "a:" + clientAddress);
+        }
+        return post;
+    }
+
+    private CachedResponse<byte[]> findPostBySlug(String slug, String ifNoneMatch) {
+        // 1. Try the in-process cache, then Redis
+        CachedResponse<byte[]> localPost = postLocalCache.get(slug);
+        if (localPost != null) {
+            return localPost.ifNoneMatch(ifNoneMatch);
+        }
+
+        // The loader's lookup, reused below so a draft or missing slug costs one query, not two
+        AtomicReference<Optional<Post>> loaded = new AtomicReference<>();
         try {
-            String cachedPost = redisTemplate.opsForValue().get(CACHE_PREFIX + slug);
-            if (cachedPost != null) {
-                return objectMapper.readValue(cachedPost, PostResponse.class);
+            // Only one loader per slug hits the database when the entry is missing or due for refresh;
+            // drafts and unknown slugs are remembered briefly so repeated misses stay off the database
+            CacheEntry cachedPost = singleFlightCache.get(CACHE_PREFIX + slug, CACHE_TTL, MISSING_TTL, () -> {
+                Optional<Post> post = postRepository.findBySlug(slug);
+                loaded.set(post);
+                Post published = post.filter(p -> p.getStatus() == Post.Status.PUBLISHED).orElse(null);
+                return published != null ? objectMapper.writeValueAsString(toResponse(published)) : null;
+            });
+            if (cachedPost != null && !cachedPost.isMissing()) {
+                if (CachedResponse.matches(ifNoneMatch, cachedPost.getEtag())) {
+                    return CachedResponse.notModified(cachedPost.getEtag());
+                }
+                CachedResponse<byte[]> response = CachedResponse.of(cachedPost.getPayloadBytes(), cachedPost.getEtag());
+                postLocalCache.put(slug, response);
+                return response;
+            }
+            if (cachedPost != null && loaded.get() == null && securityUtils.getCurrentPrincipalName() == null) {
+                // Nothing published under this slug, and an anonymous reader cannot see a draft
+                throw new ResourceNotFoundException("Post not found");
             }
+        } catch (ResourceNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Cache miss or error for slug: {}", slug, e);
         }
 
-        // 2. Fetch from DB
-        Post post = postRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        // 2. Not cacheable: drafts are only visible to their author or an admin
+        Optional<Post> found = loaded.get() != null ? loaded.get() : postRepository.findBySlug(slug);
+        Post post = found.orElseThrow(() -> new ResourceNotFoundException("Post not found"));
 
         if (post.getStatus() != Post.Status.PUBLISHED) {
             User currentUser = securityUtils.getCurrentUser();
@@ -141,24 +353,46 @@ public class PostService {
             }
         }
 
-        PostResponse response = PostResponse.fromEntity(post);
-        updateSinglePostCache(post); // Will only cache if published
-        return response;
+        byte[] body = toJson(toResponse(post));
+        String etag = updateSinglePostCache(post); // Will only cache if published
+        return CachedResponse.of(body, etag).ifNoneMatch(ifNoneMatch);
+    }
+
+    /**
+     * Invalidates feed caches after posts were written outside this service, e.g. by a bulk import.
+     */
+    public void refreshFeeds() {
+        invalidateFeedCache();
+    }
+
+    /**
+     * JSON body of a published post exactly as {@code GET /api/posts/{slug}} serves it,
+     * read from the database; null when no published post has the slug.
+     */
+    @Transactional(readOnly = true)
+    public byte[] getPublishedPostBody(String slug) {
+        return postRepository.findBySlug(slug)
+                .filter(post -> post.getStatus() == Post.Status.PUBLISHED)
+                .map(post -> toJson(toResponse(post)))
+                .orElse(null);
     }
 
     public PostResponse getPostById(UUID id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-        return PostResponse.fromEntity(post);
+        return toResponse(post);
     }
 
-    @Transactional
     public PostResponse createPost(CreatePostRequest request) {
+        return withSlugRetry(afterConflict -> doCreatePost(request, afterConflict));
+    }
+
+    private PostResponse doCreatePost(CreatePostRequest request, boolean afterConflict) {
         User currentUser = securityUtils.getCurrentUser();
         if (currentUser == null)
             throw new ForbiddenException("Authentication required");
 
-        String slug = generateSlug(request.getTitle());
+        String slug = slugAllocator.allocate(request.getTitle(), afterConflict);
         Post post = Post.builder()
                 .author(currentUser)
                 .title(request.getTitle())
@@ -173,31 +407,80 @@ public class PostService {
         }
 
         post = postRepository.save(post);
+        postRevisionService.recordCreated(post, currentUser);
         log.info("Post created: {} by {}", post.getSlug(), currentUser.getEmail());
 
         if (post.getStatus() == Post.Status.PUBLISHED) {
             invalidateFeedCache();
-            updateSinglePostCache(post);
+            updateSuggestions(post);
+            updateSyndication(post);
+            fanOut(post);
         }
+        renderAndRefresh(post);
+        scheduleIfPending(post);
 
-        return PostResponse.fromEntity(post);
+        return toWriteResponse(post);
     }
 
-    @Transactional
+    /**
+     * An explicit save. Whatever the editor autosaved and the request leaves out is saved with it,
+     * and the buffered draft is dropped unless it was autosaved again in the meantime.
+     */
     public PostResponse updatePost(UUID id, UpdatePostRequest request) {
-        Post post = postRepository.findById(id)
+        DraftBuffer.Draft draft = draftBuffer.read(id);
+        if (draft != null) {
+            if (request.getTitle() == null)
+                request.setTitle(draft.getTitle());
+            if (request.getContent() == null)
+                request.setContent(draft.getContent());
+        }
+        PostResponse response = withSlugRetry(afterConflict -> doUpdatePost(id, request, afterConflict));
+        if (draft != null) {
+            draftBuffer.discard(id, draft.getVersion());
+        }
+        return response;
+    }
+
+    /**
+     * Writes a buffered autosave. Access was checked when the draft was buffered, and only what
+     * changed is written, so an unchanged title keeps its slug.
+     */
+    public void applyDraft(UUID id, DraftBuffer.Draft draft) {
+        withSlugRetry(afterConflict -> {
+            Post post = postRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+            UpdatePostRequest request = new UpdatePostRequest();
+            if (draft.getTitle() != null && !draft.getTitle().equals(post.getTitle()))
+                request.setTitle(draft.getTitle());
+            if (draft.getContent() != null && !draft.getContent().equals(post.getContent()))
+                request.setContent(draft.getContent());
+            if (request.getTitle() == null && request.getContent() == null) {
+                return null;
+            }
+            return applyUpdate(post, request, afterConflict, userRepository.getReferenceById(draft.getEditorId()));
+        });
+    }
+
+    private PostResponse doUpdatePost(UUID id, UpdatePostRequest request, boolean afterConflict) {
+        // Locked so concurrent edits are recorded as revisions one after the other
+        Post post = postRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
 
         if (!securityUtils.canModifyResource(post.getAuthor().getId())) {
             throw new ForbiddenException("You don't have permission to update this post");
         }
+        return applyUpdate(post, request, afterConflict, securityUtils.getCurrentUser());
+    }
 
+    private PostResponse applyUpdate(Post post, UpdatePostRequest request, boolean afterConflict, User editor) {
         String oldSlug = post.getSlug();
+        String oldTitle = post.getTitle();
+        String oldContent = post.getContent();
         Post.Status oldStatus = post.getStatus();
 
         if (request.getTitle() != null) {
             post.setTitle(request.getTitle());
-            post.setSlug(generateSlug(request.getTitle()));
+            post.setSlug(slugAllocator.allocate(request.getTitle(), oldSlug, afterConflict));
         }
         if (request.getContent() != null)
             post.setContent(request.getContent());
@@ -211,25 +494,43 @@ public class PostService {
             post.setScheduledAt(request.getScheduledAt());
 
         post = postRepository.save(post);
+        postRevisionService.recordUpdate(post, oldTitle, oldContent, editor);
 
         // Cache Management
         if (!oldSlug.equals(post.getSlug())) {
             invalidateSinglePostCache(oldSlug);
+            AfterCommit.run(() -> staticSite.markPost(oldSlug));
         }
 
         if (post.getStatus() == Post.Status.PUBLISHED || oldStatus == Post.Status.PUBLISHED) {
             invalidateFeedCache();
+            updateSuggestions(post);
+            updateSyndication(post);
+        }
+        if (post.getStatus() == Post.Status.PUBLISHED && oldStatus != Post.Status.PUBLISHED) {
+            fanOut(post);
         }
 
-        if (post.getStatus() == Post.Status.PUBLISHED) {
-            updateSinglePostCache(post);
-        } else {
+        if (post.getStatus() != Post.Status.PUBLISHED) {
             // Ensure no stale cache if un-published
             invalidateSinglePostCache(post.getSlug());
         }
+        renderAndRefresh(post);
 
+        scheduleIfPending(post);
         log.info("Post updated: {}", post.getSlug());
-        return PostResponse.fromEntity(post);
+        return toWriteResponse(post);
+    }
+
+    /**
+     * Puts a past revision's title and content back; the restore itself becomes the newest revision.
+     */
+    public PostResponse restoreRevision(UUID id, int revision) {
+        PostRevisionService.Revision past = postRevisionService.loadRevision(id, revision);
+        UpdatePostRequest request = new UpdatePostRequest();
+        request.setTitle(past.getTitle());
+        request.setContent(past.getContent());
+        return updatePost(id, request);
     }
 
     @Transactional
@@ -244,43 +545,65 @@ public class PostService {
         invalidateSinglePostCache(post.getSlug());
         if (post.getStatus() == Post.Status.PUBLISHED) {
             invalidateFeedCache();
+            AfterCommit.run(() -> autocompleteService.removePost(id));
+            AfterCommit.run(() -> syndicationService.markPost(id));
         }
+        String slug = post.getSlug();
+        AfterCommit.run(() -> staticSite.markPost(slug));
+        AfterCommit.run(() -> draftBuffer.delete(id));
 
+        // Replies reference their parents, so remove the comments in one statement rather than by cascade
+        commentRepository.deleteAllByPostIdInBulk(id);
+        commentService.invalidatePostComments(id);
         postRepository.delete(post);
         log.info("Post deleted: {}", post.getSlug());
     }
 
-    @Scheduled(fixedRate = 60000)
-    @Transactional
-    public void publishScheduledPosts() {
-        List<Post> scheduledPosts = postRepository.findScheduledPostsToPublish(LocalDateTime.now());
-        boolean anyPublished = false;
-
-        for (Post post : scheduledPosts) {
-            post.setStatus(Post.Status.PUBLISHED);
-            post.setPublishedAt(LocalDateTime.now());
-            postRepository.save(post);
-            log.info("Scheduled post published: {}", post.getSlug());
-            anyPublished = true;
-        }
+    /**
+     * Publishes every due scheduled post, one set-based batch per transaction, and refreshes
+     * the feed once per batch rather than once per post. Returns the number of posts published.
+     */
+    public int publishDueScheduledPosts(int batchSize) {
+        int total = 0;
+        List<PublishedPostView> batch;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            batch = transactionTemplate.execute(status -> postRepository.publishDueScheduledPosts(now, batchSize));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
 
-        if (anyPublished) {
             invalidateFeedCache();
-        }
+            for (PublishedPostView post : batch) {
+                // Drop the short-lived "not found" entry a reader may have cached while it was scheduled
+                invalidateSinglePostCache(post.getSlug());
+                autocompleteService.putPost(post.getId(), post.getTitle(), post.getSlug(), post.getPublishedAt());
+                timelineService.fanOut(post.getId(), post.getAuthorId(), post.getPublishedAt());
+                staticSite.markPost(post.getSlug());
+                log.info("Scheduled post published: {}", post.getSlug());
+            }
+            syndicationService.markPosts(batch.stream().map(PublishedPostView::getId).toList());
+            total += batch.size();
+        } while (batch.size() == batchSize);
+        return total;
     }
 
-    private String generateSlug(String title) {
-        String normalized = Normalizer.normalize(title, Normalizer.Form.NFD);
-        String slug = WHITESPACE.matcher(normalized).replaceAll("-");
-        slug = NONLATIN.matcher(slug).replaceAll("");
-        slug = slug.toLowerCase(Locale.ENGLISH).replaceAll("-+", "-");
-        slug = slug.replaceAll("^-|-$", "");
-
-        String baseSlug = slug;
-        int counter = 1;
-        while (postRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter++;
+    /**
+     * Runs a post write in its own transaction. When a concurrent writer commits the same
+     * slug first, the write is retried in a fresh transaction with the allocator told to
+     * skip its local filter, so the retry sees the committed slug and picks the next one.
+     */
+    private PostResponse withSlugRetry(Function<Boolean, PostResponse> write) {
+        for (int attempt = 1; ; attempt++) {
+            boolean afterConflict = attempt > 1;
+            try {
+                return transactionTemplate.execute(status -> write.apply(afterConflict));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_SLUG_ATTEMPTS || !slugAllocator.isSlugConflict(e)) {
+                    throw e;
+                }
+                log.warn("Slug conflict on attempt {}, retrying", attempt);
+            }
         }
-        return slug;
     }
 }
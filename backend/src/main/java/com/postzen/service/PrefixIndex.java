@@ -0,0 +1,212 @@
+package com.postzen.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Trie over normalized terms where every node caches its best {@code topK} entries, so a
+ * prefix lookup is one walk down the trie plus a copy of that list. Terms are truncated at
+ * {@code maxDepth} characters and both the number of indexed entries and the number of trie
+ * nodes are capped; when either is exceeded, the lowest scored entries are evicted. Not
+ * thread-safe; callers guard access.
+ * <p>
+ * Memory is dominated by nodes, one per distinct character position across the indexed terms.
+ * An entry contributes up to {@code MAX_WORDS} terms of up to {@code maxDepth} characters each,
+ * and a node costs roughly 250 bytes with its maps and top list, so {@code maxNodes} is the
+ * knob that bounds the heap: 250,000 nodes is about 60 MB. Without it, 100,000 long titles can
+ * take millions of nodes and gigabytes on every instance.
+ */
+class PrefixIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final int MAX_WORDS = 8;
+
+    private static final Comparator<Entry> BY_RANK = Comparator.comparingLong(Entry::getScore).reversed()
+            .thenComparing(Entry::getText)
+            .thenComparing(Entry::getKey);
+
+    private final int topK;
+    private final int maxDepth;
+    private final int maxEntries;
+    private final int maxNodes;
+
+    private final Node root = new Node();
+    private int nodeCount;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byScore = new TreeSet<>(BY_RANK);
+
+    PrefixIndex(int topK, int maxDepth, int maxEntries, int maxNodes) {
+        this.topK = topK;
+        this.maxDepth = maxDepth;
+        this.maxEntries = maxEntries;
+        this.maxNodes = maxNodes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Entry {
+        private final String key;
+        private final String text;
+        private final String slug;
+        private final long score;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Map<String, Entry> terminals = new HashMap<>(2);
+        private List<Entry> top = List.of();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    void put(Entry entry) {
+        remove(entry.getKey());
+        if (entries.size() >= maxEntries) {
+            Entry lowest = byScore.last();
+            if (BY_RANK.compare(entry, lowest) > 0) {
+                return;
+            }
+            remove(lowest.getKey());
+        }
+        entries.put(entry.getKey(), entry);
+        byScore.add(entry);
+        for (String term : termsOf(entry.getText())) {
+            Node node = root;
+            offer(node, entry);
+            for (int i = 0; i < term.length(); i++) {
+                node = node.children.computeIfAbsent(term.charAt(i), c -> newNode());
+                offer(node, entry);
+            }
+            node.terminals.put(entry.getKey(), entry);
+        }
+        // Possibly the new entry itself, when it ranks lowest
+        while (nodeCount > maxNodes && !byScore.isEmpty()) {
+            remove(byScore.last().getKey());
+        }
+    }
+
+    private Node newNode() {
+        nodeCount++;
+        return new Node();
+    }
+
+    void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        byScore.remove(entry);
+        for (String term : termsOf(entry.getText())) {
+            removeFromPath(root, term, 0, key);
+        }
+    }
+
+    List<Entry> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        String walked = normalized.length() > maxDepth ? normalized.substring(0, maxDepth) : normalized;
+        Node node = root;
+        for (int i = 0; i < walked.length() && node != null; i++) {
+            node = node.children.get(walked.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<Entry> result = new ArrayList<>(Math.min(limit, node.top.size()));
+        for (Entry entry : node.top) {
+            if (result.size() == limit) {
+                break;
+            }
+            // Past maxDepth the trie cannot tell terms apart, so check the remainder by hand
+            if (walked.length() == normalized.length() || normalize(entry.getText()).contains(normalized)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private boolean removeFromPath(Node node, String term, int depth, String key) {
+        if (depth == term.length()) {
+            node.terminals.remove(key);
+        } else {
+            Node child = node.children.get(term.charAt(depth));
+            if (child != null && removeFromPath(child, term, depth + 1, key)) {
+                node.children.remove(term.charAt(depth));
+                nodeCount--;
+            }
+        }
+        if (node.top.stream().anyMatch(e -> e.getKey().equals(key))) {
+            recompute(node);
+        }
+        return node != root && node.children.isEmpty() && node.terminals.isEmpty();
+    }
+
+    private void offer(Node node, Entry entry) {
+        List<Entry> top = node.top;
+        for (Entry existing : top) {
+            if (existing.getKey().equals(entry.getKey())) {
+                return;
+            }
+        }
+        if (top.size() >= topK && BY_RANK.compare(entry, top.get(top.size() - 1)) >= 0) {
+            return;
+        }
+        List<Entry> updated = new ArrayList<>(top.size() + 1);
+        updated.addAll(top);
+        updated.add(entry);
+        updated.sort(BY_RANK);
+        node.top = updated.size() > topK ? List.copyOf(updated.subList(0, topK)) : List.copyOf(updated);
+    }
+
+    private void recompute(Node node) {
+        Map<String, Entry> candidates = new LinkedHashMap<>(node.terminals);
+        for (Node child : node.children.values()) {
+            for (Entry entry : child.top) {
+                candidates.putIfAbsent(entry.getKey(), entry);
+            }
+        }
+        node.top = candidates.values().stream().sorted(BY_RANK).limit(topK).toList();
+    }
+
+    /**
+     * The full text plus the suffix starting at each later word, so "weekly update"
+     * is found by both "wee" and "upd".
+     */
+    private List<String> termsOf(String text) {
+        String normalized = normalize(text);
+        List<String> terms = new ArrayList<>();
+        int start = 0;
+        while (start < normalized.length() && terms.size() < MAX_WORDS) {
+            String term = normalized.substring(start);
+            terms.add(term.length() > maxDepth ? term.substring(0, maxDepth) : term);
+            int space = normalized.indexOf(' ', start);
+            if (space < 0) {
+                break;
+            }
+            start = space + 1;
+        }
+        return terms;
+    }
+
+    static String normalize(String text) {
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,81 @@
+package com.postzen.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hashed timer wheel of upcoming publish times with one-second slots. It only tells the
+ * publisher when something is due; the database stays the source of truth, so entries that
+ * were rescheduled or deleted in the meantime merely cause one empty publish batch.
+ * Times beyond the horizon are left out and picked up by a later {@link #reload}.
+ */
+@Component
+public class PublishTimerWheel {
+
+    static final int SLOTS = 600;
+
+    private final List<Map<UUID, Long>> slots = new ArrayList<>(SLOTS);
+    private long lastSecond = epochSecond(LocalDateTime.now());
+    private boolean overdue;
+
+    public PublishTimerWheel() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new HashMap<>());
+        }
+    }
+
+    public static LocalDateTime horizon(LocalDateTime now) {
+        return now.plusSeconds(SLOTS - 1);
+    }
+
+    public synchronized void schedule(UUID postId, LocalDateTime at) {
+        long second = epochSecond(at);
+        if (second <= lastSecond) {
+            overdue = true;
+        } else if (second - lastSecond < SLOTS) {
+            slots.get((int) (second % SLOTS)).put(postId, second);
+        }
+    }
+
+    public synchronized void reload(Map<UUID, LocalDateTime> upcoming) {
+        for (Map<UUID, Long> slot : slots) {
+            slot.clear();
+        }
+        upcoming.forEach(this::schedule);
+    }
+
+    /**
+     * Moves the wheel up to {@code now} and reports whether any scheduled time was passed.
+     */
+    public synchronized boolean advance(LocalDateTime now) {
+        long target = epochSecond(now);
+        boolean due = overdue;
+        overdue = false;
+
+        // After a long pause every slot has been passed at least once
+        long from = Math.max(lastSecond + 1, target - SLOTS + 1);
+        for (long second = from; second <= target; second++) {
+            Iterator<Long> it = slots.get((int) (second % SLOTS)).values().iterator();
+            while (it.hasNext()) {
+                if (it.next() <= target) {
+                    it.remove();
+                    due = true;
+                }
+            }
+        }
+        lastSecond = Math.max(lastSecond, target);
+        return due;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -0,0 +1,77 @@
+package com.postzen.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short-lived Redis locks (SET NX PX) released with a compare-and-delete script,
+ * so a holder whose lock already expired can never release someone else's.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLock {
+
+    private static final String LOCK_PREFIX = "lock:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public static String lockKey(String name) {
+        return LOCK_PREFIX + name;
+    }
+
+    /**
+     * Returns a token to release the lock with, or null if someone else holds it.
+     * When Redis is unreachable there is nobody to coordinate with, so the lock is granted.
+     */
+    public String tryAcquire(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey(name), token, ttl))
+                    ? token
+                    : null;
+        } catch (Exception e) {
+            log.error("Failed to acquire lock: {}", name, e);
+            return token;
+        }
+    }
+
+    /**
+     * Extends a lock still held with {@code token} for long-running work. Returns false once the
+     * lock has expired or passed to someone else, after which the holder must stop writing.
+     */
+    public boolean renew(String name, String token, Duration ttl) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW, List.of(lockKey(name)), token,
+                    String.valueOf(ttl.toMillis()));
+            return renewed != null && renewed == 1;
+        } catch (Exception e) {
+            log.error("Failed to renew lock: {}", name, e);
+            return false;
+        }
+    }
+
+    public void release(String name, String token) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(lockKey(name)), token);
+        } catch (Exception e) {
+            log.error("Failed to release lock: {}", name, e);
+        }
+    }
+}
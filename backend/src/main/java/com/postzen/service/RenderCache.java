@@ -0,0 +1,164 @@
+package com.postzen.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rendered post HTML keyed by a hash of the markdown, so identical content is rendered once
+ * no matter how many posts, edits or nodes share it. Lookups go through a small in-process
+ * cache, then Redis; writes render on a background pool so saving a post never waits on it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RenderCache {
+
+    private static final String CACHE_PREFIX = "render:html:v" + MarkdownRenderer.VERSION + ":";
+    private static final Duration CACHE_TTL = Duration.ofDays(7);
+    private static final int LOCAL_MAX_SIZE = 1000;
+    private static final int RENDER_THREADS = 2;
+    private static final int RENDER_QUEUE_SIZE = 1000;
+
+    private final MarkdownRenderer markdownRenderer;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final Cache<String, String> local = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAX_SIZE)
+            .build();
+
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    // A full queue runs the render on the caller rather than dropping it
+    private final ThreadPoolExecutor renderPool = new ThreadPoolExecutor(RENDER_THREADS, RENDER_THREADS,
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(RENDER_QUEUE_SIZE), new RenderThreadFactory(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    static String contentHash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((content != null ? content : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the HTML for the content, rendering it on the calling thread only when no
+     * background render has cached it yet.
+     */
+    public String get(String content) {
+        String hash = contentHash(content);
+        String html = lookup(hash);
+        if (html != null) {
+            return html;
+        }
+        CompletableFuture<String> pending = inFlight.get(hash);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                // Already logged by the background render; try again here
+            }
+        }
+        return store(hash, markdownRenderer.render(content));
+    }
+
+    /**
+     * Returns the HTML for the content if it has been rendered already, without rendering.
+     */
+    public String getIfRendered(String content) {
+        return lookup(contentHash(content));
+    }
+
+    /**
+     * Renders the content in the background unless it is already cached. Concurrent
+     * requests for the same content share one render.
+     */
+    public CompletableFuture<String> renderAsync(String content) {
+        String hash = contentHash(content);
+        String cached = local.getIfPresent(hash);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(hash, future);
+        if (existing != null) {
+            return existing;
+        }
+        renderPool.execute(() -> {
+            try {
+                String html = lookup(hash);
+                future.complete(html != null ? html : store(hash, markdownRenderer.render(content)));
+            } catch (Exception e) {
+                log.error("Failed to render content {}", hash, e);
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.remove(hash, future);
+            }
+        });
+        return future;
+    }
+
+    private String lookup(String hash) {
+        String html = local.getIfPresent(hash);
+        if (html != null) {
+            return html;
+        }
+        try {
+            html = redisTemplate.opsForValue().get(CACHE_PREFIX + hash);
+        } catch (Exception e) {
+            log.error("Failed to read rendered content {}", hash, e);
+        }
+        if (html != null) {
+            local.put(hash, html);
+        }
+        return html;
+    }
+
+    private String store(String hash, String html) {
+        local.put(hash, html);
+        try {
+            redisTemplate.opsForValue().set(CACHE_PREFIX + hash, html, CACHE_TTL);
+        } catch (Exception e) {
+            log.error("Failed to cache rendered content {}", hash, e);
+        }
+        return html;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdown();
+    }
+
+    private static final class RenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "markdown-render-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.postzen.service;
+
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostScheduleView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Publishes scheduled posts within about a second of their scheduled time. Every node keeps a
+ * {@link PublishTimerWheel} so the database is only queried when something is due (or on the
+ * periodic sweep), and a short Redis lease makes sure only one node runs each publish tick.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledPublisher {
+
+    private static final String LEASE = "scheduled-publisher";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(30);
+
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final PublishTimerWheel publishTimerWheel;
+    private final RedisLock redisLock;
+
+    @Value("${app.publishing.batch-size}")
+    private int batchSize;
+
+    @Value("${app.publishing.sweep-seconds}")
+    private long sweepSeconds;
+
+    private LocalDateTime nextSweep = LocalDateTime.MIN;
+
+    @Scheduled(fixedDelay = 1000)
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        boolean due = publishTimerWheel.advance(now);
+
+        if (!now.isBefore(nextSweep)) {
+            nextSweep = now.plusSeconds(sweepSeconds);
+            reloadWheel(now);
+            due = true; // also catches anything scheduled by other nodes or while we were down
+        }
+
+        if (due) {
+            publishDue();
+        }
+    }
+
+    private void reloadWheel(LocalDateTime now) {
+        try {
+            Map<UUID, LocalDateTime> upcoming = new HashMap<>();
+            for (PostScheduleView view : postRepository.findScheduledUntil(PublishTimerWheel.horizon(now))) {
+                upcoming.put(view.getId(), view.getScheduledAt());
+            }
+            publishTimerWheel.reload(upcoming);
+        } catch (Exception e) {
+            log.error("Failed to load upcoming scheduled posts", e);
+        }
+    }
+
+    private void publishDue() {
+        String token = redisLock.tryAcquire(LEASE, LEASE_TTL);
+        if (token == null) {
+            return;
+        }
+        try {
+            int published = postService.publishDueScheduledPosts(batchSize);
+            if (published > 0) {
+                log.info("Published {} scheduled posts", published);
+            }
+        } catch (Exception e) {
+            log.error("Failed to publish scheduled posts", e);
+        } finally {
+            redisLock.release(LEASE, token);
+        }
+    }
+}
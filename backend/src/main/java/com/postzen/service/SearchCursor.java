@@ -0,0 +1,38 @@
+package com.postzen.service;
+
+import com.postzen.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in a ranked search result list: the (rank, id) pair
+ * of the last hit a client has seen, encoded as URL-safe Base64.
+ */
+@Getter
+@AllArgsConstructor
+class SearchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final float rank;
+    private final UUID id;
+
+    String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            return new SearchCursor(Float.parseFloat(raw.substring(0, idx)), UUID.fromString(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.postzen.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Redis cache-aside with stampede protection. Concurrent misses for a key are
+ * coalesced into one loader per JVM, and a short Redis lock makes that one
+ * loader per cluster. Entries are refreshed probabilistically before they
+ * expire and their TTLs are jittered so hot keys do not expire together.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SingleFlightCache {
+
+    private static final Duration LOCK_TTL = Duration.ofSeconds(5);
+    private static final long LOCK_WAIT_MILLIS = 3000;
+    private static final long LOCK_POLL_MILLIS = 50;
+    private static final double TTL_JITTER = 0.1;
+
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final RedisLock redisLock;
+
+    @Value("${app.cache.codec}")
+    private CacheCodec codec;
+
+    @Value("${app.cache.compress-threshold-bytes}")
+    private int compressThresholdBytes;
+
+    private final ConcurrentMap<String, CompletableFuture<CacheEntry>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached entry for the key, loading and caching it on a miss.
+     * A loader returning null means "nothing cacheable" and yields null.
+     */
+    public CacheEntry get(String key, Duration ttl, Callable<String> loader) {
+        return get(key, ttl, null, loader);
+    }
+
+    /**
+     * Like {@link #get(String, Duration, Callable)}, but a loader returning null is remembered for
+     * {@code missTtl} as an entry that {@link CacheEntry#isMissing() is missing}, so repeated
+     * lookups of something that does not exist stop reaching the loader.
+     */
+    public CacheEntry get(String key, Duration ttl, Duration missTtl, Callable<String> loader) {
+        byte[] raw = read(key);
+        if (raw != null) {
+            CacheEntry entry = CacheEntry.decode(raw);
+            if (!entry.shouldRefreshEarly(System.currentTimeMillis())) {
+                return entry;
+            }
+            return load(key, ttl, missTtl, loader, entry);
+        }
+        return load(key, ttl, missTtl, loader, null);
+    }
+
+    public CacheEntry put(String key, String value, Duration ttl) {
+        return write(key, value, ttl, 0);
+    }
+
+    private CacheEntry load(String key, Duration ttl, Duration missTtl, Callable<String> loader, CacheEntry stale) {
+        CompletableFuture<CacheEntry> future = new CompletableFuture<>();
+        CompletableFuture<CacheEntry> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            // Someone in this JVM is already loading; a stale copy beats waiting for it
+            return stale != null ? stale : join(existing);
+        }
+
+        try {
+            CacheEntry entry = loadAcrossNodes(key, ttl, missTtl, loader, stale);
+            future.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private CacheEntry loadAcrossNodes(String key, Duration ttl, Duration missTtl, Callable<String> loader,
+            CacheEntry stale) {
+        String token = redisLock.tryAcquire(key, LOCK_TTL);
+        if (token != null) {
+            try {
+                return loadAndCache(key, ttl, missTtl, loader);
+            } finally {
+                redisLock.release(key, token);
+            }
+        }
+
+        if (stale != null) {
+            return stale;
+        }
+
+        // Another node holds the lock: wait for its value, or for it to give up
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            sleep();
+            List<byte[]> values = multiRead(key, RedisLock.lockKey(key));
+            if (values.get(0) != null) {
+                return CacheEntry.decode(values.get(0));
+            }
+            if (values.get(1) == null) {
+                break;
+            }
+        }
+        return loadAndCache(key, ttl, missTtl, loader);
+    }
+
+    private CacheEntry loadAndCache(String key, Duration ttl, Duration missTtl, Callable<String> loader) {
+        long start = System.currentTimeMillis();
+        String value = call(loader);
+        if (value == null) {
+            return missTtl != null ? write(key, CacheEntry.MISSING, missTtl, 0) : null;
+        }
+        return write(key, value, ttl, System.currentTimeMillis() - start);
+    }
+
+    private CacheEntry write(String key, String value, Duration ttl, long computeMillis) {
+        long jitter = (long) (ttl.toMillis() * TTL_JITTER * ThreadLocalRandom.current().nextDouble());
+        Duration jitteredTtl = ttl.plusMillis(jitter);
+        byte[] json = value.getBytes(StandardCharsets.UTF_8);
+        CacheEntry entry = CacheEntry.of(json, System.currentTimeMillis() + jitteredTtl.toMillis(), computeMillis);
+        // Small payloads gain little from encoding and would pay its cost on every read
+        CacheCodec writeCodec = json.length >= compressThresholdBytes ? codec : CacheCodec.JSON;
+        try {
+            binaryRedisTemplate.opsForValue().set(key, entry.encode(writeCodec), jitteredTtl);
+        } catch (Exception e) {
+            log.error("Failed to write cache key: {}", key, e);
+        }
+        return entry;
+    }
+
+    private byte[] read(String key) {
+        try {
+            return binaryRedisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.error("Failed to read cache key: {}", key, e);
+            return null;
+        }
+    }
+
+    private List<byte[]> multiRead(String key, String lockKey) {
+        try {
+            List<byte[]> values = binaryRedisTemplate.opsForValue().multiGet(List.of(key, lockKey));
+            if (values != null) {
+                return values;
+            }
+        } catch (Exception e) {
+            log.error("Failed to read cache key: {}", key, e);
+        }
+        return Arrays.asList(null, null);
+    }
+
+    private static String call(Callable<String> loader) {
+        try {
+            return loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Cache loader failed", e);
+        }
+    }
+
+    private static CacheEntry join(CompletableFuture<CacheEntry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(LOCK_POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cache lock", e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.postzen.service;
+
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.SlugUsageView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Picks a unique slug for a post title. A local Bloom filter of known slugs answers the
+ * common case (the base slug was never used) without a query; otherwise one query finds
+ * the highest numeric suffix in use. Slugs created on other nodes can be missing from the
+ * filter, so callers retry on a slug unique violation with {@code afterConflict} set,
+ * which always goes to the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlugAllocator {
+
+    private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
+    private static final String FALLBACK_SLUG = "post";
+    // Path segments under /api/posts that a slug must never shadow
+    private static final Set<String> RESERVED_SLUGS = Set.of("feed", "search", "trending");
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Byte-wise range scans on the text_pattern_ops index, one per base, then the same suffix check as findSlugUsage
+    private static final String BULK_USAGE_SQL = "SELECT b.base, BOOL_OR(p.slug = b.base) AS taken, " +
+            "MAX(CASE WHEN p.slug = b.base THEN 0 ELSE CAST(SUBSTRING(p.slug, LENGTH(b.base) + 2) AS INTEGER) END) " +
+            "AS max_suffix FROM unnest(?) AS b(base) JOIN posts p ON p.slug ~>=~ b.base " +
+            "AND p.slug ~<~ (b.base || '.') AND p.slug ~ ('^' || b.base || '(-[0-9]{1,9})?$') GROUP BY b.base";
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.slug.bloom-capacity}")
+    private long bloomCapacity;
+
+    private BloomFilter knownSlugs;
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void init() {
+        knownSlugs = new BloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        String after = "";
+        long count = 0;
+        List<String> batch;
+        do {
+            batch = postRepository.findSlugsAfter(after, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            batch.forEach(knownSlugs::put);
+            count += batch.size();
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+        log.info("Slug filter loaded with {} slugs", count);
+    }
+
+    public String allocate(String title, boolean afterConflict) {
+        return allocate(title, null, afterConflict);
+    }
+
+    /**
+     * Allocates a slug for a post being retitled. The current slug is kept when it
+     * already belongs to the new title's base, so saving an unchanged title is a no-op.
+     */
+    public String allocate(String title, String currentSlug, boolean afterConflict) {
+        String base = toBaseSlug(title);
+        if (currentSlug != null && (currentSlug.equals(base)
+                || currentSlug.matches(Pattern.quote(base) + "-\\d+"))) {
+            return currentSlug;
+        }
+
+        boolean reserved = RESERVED_SLUGS.contains(base);
+        if (!reserved && !afterConflict && loaded && !knownSlugs.mightContain(base)) {
+            knownSlugs.put(base);
+            return base;
+        }
+
+        SlugUsageView usage = postRepository.findSlugUsage(base, escapeLike(base) + "%",
+                "^" + base + "(-[0-9]{1,9})?$");
+        String slug;
+        if (!reserved && (usage == null || !Boolean.TRUE.equals(usage.getTaken()))) {
+            slug = base;
+        } else {
+            int maxSuffix = usage != null && usage.getMaxSuffix() != null ? usage.getMaxSuffix() : 0;
+            slug = base + "-" + (maxSuffix + 1);
+        }
+        knownSlugs.put(slug);
+        return slug;
+    }
+
+    /**
+     * Allocates slugs for a batch of new posts in one pass. Bases the filter cannot rule out are
+     * checked with a single query, and titles repeated within the batch get consecutive suffixes.
+     */
+    public List<String> allocateAll(List<String> titles) {
+        List<String> bases = titles.stream().map(SlugAllocator::toBaseSlug).toList();
+        Set<String> uncertain = new HashSet<>();
+        for (String base : bases) {
+            if (RESERVED_SLUGS.contains(base) || !loaded || knownSlugs.mightContain(base)) {
+                uncertain.add(base);
+            }
+        }
+        Set<String> taken = new HashSet<>();
+        Map<String, Integer> maxSuffixes = new HashMap<>();
+        findUsage(uncertain, taken, maxSuffixes);
+
+        // Next suffix to hand out per base; absent until the base is first seen in this batch
+        Map<String, Integer> nextSuffix = new HashMap<>();
+        List<String> slugs = new ArrayList<>(bases.size());
+        for (String base : bases) {
+            Integer next = nextSuffix.get(base);
+            String slug;
+            if (next != null) {
+                slug = base + "-" + next;
+                nextSuffix.put(base, next + 1);
+            } else {
+                int maxSuffix = maxSuffixes.getOrDefault(base, 0);
+                if (RESERVED_SLUGS.contains(base) || taken.contains(base)) {
+                    slug = base + "-" + (maxSuffix + 1);
+                    nextSuffix.put(base, maxSuffix + 2);
+                } else {
+                    slug = base;
+                    nextSuffix.put(base, maxSuffix + 1);
+                }
+            }
+            knownSlugs.put(slug);
+            slugs.add(slug);
+        }
+        return slugs;
+    }
+
+    private void findUsage(Set<String> bases, Set<String> taken, Map<String, Integer> maxSuffixes) {
+        if (bases.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(BULK_USAGE_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", bases.toArray())),
+                rs -> {
+                    String base = rs.getString("base");
+                    if (rs.getBoolean("taken")) {
+                        taken.add(base);
+                    }
+                    maxSuffixes.put(base, rs.getInt("max_suffix"));
+                });
+    }
+
+    public boolean isSlugConflict(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains("(slug)");
+    }
+
+    private static String toBaseSlug(String title) {
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFD);
+        String slug = WHITESPACE.matcher(normalized).replaceAll("-");
+        slug = NONLATIN.matcher(slug).replaceAll("");
+        slug = slug.toLowerCase(Locale.ENGLISH).replaceAll("-+", "-");
+        slug = slug.replaceAll("^-|-$", "");
+        return slug.isEmpty() ? FALLBACK_SLUG : slug;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("_", "!_").replace("%", "!%");
+    }
+}
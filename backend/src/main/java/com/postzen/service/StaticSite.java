@@ -0,0 +1,273 @@
+package com.postzen.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-rendered response bodies on disk, for serving anonymous reads without touching the
+ * database, Redis or Jackson. Each document (a post, a feed page) is stored as immutable
+ * files named after their ETag plus a small {@code .ref} file naming the current version, so
+ * a body handed to the container for sendfile is never rewritten underneath it. The version
+ * before the current one is kept for readers still streaming it; older ones are deleted.
+ * <p>
+ * Writers only mark documents dirty; {@link StaticSiteRefresher} rebuilds them off the request thread.
+ * Marks are kept in a Redis set shared by all nodes, like the directory itself, so a node stopping
+ * between a commit and the next refresh loses nothing: whichever node refreshes next picks them up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StaticSite {
+
+    private static final Pattern SLUG = Pattern.compile("[a-z0-9_-]{1,200}");
+    private static final String POSTS_DIR = "posts";
+    private static final String FEED_DIR = "feed";
+    private static final String REF_SUFFIX = ".ref";
+    private static final String BODY_SUFFIX = ".json";
+    private static final String GZIP_SUFFIX = ".json.gz";
+    private static final String DIRTY_KEY = "prerender:dirty";
+    // Never a valid slug, so the feed shares the set with the posts
+    private static final String FEED_MARK = ":feed";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${app.prerender.enabled}")
+    private boolean enabled;
+
+    @Value("${app.prerender.dir}")
+    private String dir;
+
+    // Marks that could not reach Redis, queued again on the next refresh
+    private final Set<String> unsent = ConcurrentHashMap.newKeySet();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isValidSlug(String slug) {
+        return slug != null && SLUG.matcher(slug).matches();
+    }
+
+    public static String postName(String slug) {
+        return POSTS_DIR + "/" + slug;
+    }
+
+    public static String feedPageName(int page) {
+        return FEED_DIR + "/page-" + page;
+    }
+
+    public static String feedHeadName() {
+        return FEED_DIR + "/head";
+    }
+
+    // --- Dirty tracking ---
+
+    public void markPost(String slug) {
+        if (enabled && isValidSlug(slug)) {
+            mark(List.of(slug));
+        }
+    }
+
+    public void markFeed() {
+        if (enabled) {
+            mark(List.of(FEED_MARK));
+        }
+    }
+
+    static boolean isFeedMark(String mark) {
+        return FEED_MARK.equals(mark);
+    }
+
+    private void mark(Collection<String> marks) {
+        try {
+            redisTemplate.opsForSet().add(DIRTY_KEY, marks.toArray(String[]::new));
+        } catch (Exception e) {
+            log.error("Failed to queue {} pre-rendered documents, keeping them on this node", marks.size(), e);
+            unsent.addAll(marks);
+        }
+    }
+
+    /**
+     * Removes and returns up to {@code max} dirty marks: slugs, or the {@link #isFeedMark feed mark}.
+     */
+    List<String> drainDirty(int max) {
+        resendUnsent();
+        List<String> batch = redisTemplate.opsForSet().pop(DIRTY_KEY, max);
+        return batch != null ? batch : List.of();
+    }
+
+    /**
+     * Hands marks this node could not queue to Redis before it stops, so another node rebuilds them.
+     */
+    @PreDestroy
+    public void resendUnsent() {
+        if (unsent.isEmpty()) {
+            return;
+        }
+        List<String> retry = new ArrayList<>();
+        for (String mark : unsent) {
+            if (unsent.remove(mark)) {
+                retry.add(mark);
+            }
+        }
+        mark(retry);
+    }
+
+    /**
+     * Puts marks back after a failed rebuild, for the next refresh to retry.
+     */
+    void requeue(Collection<String> marks) {
+        if (!marks.isEmpty()) {
+            mark(marks);
+        }
+    }
+
+    // --- Files ---
+
+    private Path root() {
+        return Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    private static String version(String etag) {
+        // ETags are quoted base64url, which is already safe in a file name
+        return etag.substring(1, etag.length() - 1);
+    }
+
+    void write(String name, byte[] body) throws IOException {
+        String etag = CacheEntry.etagOf(body);
+        String version = version(etag);
+        Path base = root().resolve(name);
+        Files.createDirectories(base.getParent());
+
+        writeAtomically(sibling(base, "." + version + BODY_SUFFIX), body);
+        byte[] gzipped = gzip(body);
+        if (gzipped.length < body.length) {
+            writeAtomically(sibling(base, "." + version + GZIP_SUFFIX), gzipped);
+        }
+
+        Path ref = sibling(base, REF_SUFFIX);
+        String previous = readRef(ref);
+        if (version.equals(previous)) {
+            return;
+        }
+        writeAtomically(ref, version.getBytes(StandardCharsets.US_ASCII));
+        deleteVersionsExcept(base, version, previous);
+    }
+
+    void delete(String name) throws IOException {
+        Path base = root().resolve(name);
+        Files.deleteIfExists(sibling(base, REF_SUFFIX));
+        deleteVersionsExcept(base, null, null);
+    }
+
+    /**
+     * The current version of a document, or null when it has not been pre-rendered.
+     */
+    public StaticFile open(String name) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            Path base = root().resolve(name);
+            String version = readRef(sibling(base, REF_SUFFIX));
+            if (version == null) {
+                return null;
+            }
+            Path body = sibling(base, "." + version + BODY_SUFFIX);
+            Path gzip = sibling(base, "." + version + GZIP_SUFFIX);
+            return new StaticFile(body, Files.isRegularFile(gzip) ? gzip : null, "\"" + version + "\"");
+        } catch (IOException e) {
+            log.error("Failed to open pre-rendered {}", name, e);
+            return null;
+        }
+    }
+
+    private static Path sibling(Path base, String suffix) {
+        return base.resolveSibling(base.getFileName() + suffix);
+    }
+
+    private static String readRef(Path ref) throws IOException {
+        try {
+            return new String(Files.readAllBytes(ref), StandardCharsets.US_ASCII);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".tmp-", null);
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void deleteVersionsExcept(Path base, String current, String previous) throws IOException {
+        String prefix = base.getFileName() + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(base.getParent(), prefix + "*")) {
+            for (Path file : files) {
+                String rest = file.getFileName().toString().substring(prefix.length());
+                // Names never contain dots, so anything after the prefix is "<version>.json[.gz]" or "ref"
+                int dot = rest.indexOf('.');
+                if (dot < 0) {
+                    continue;
+                }
+                String version = rest.substring(0, dot);
+                if (!version.equals(current) && !version.equals(previous)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing written yet
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StaticFile {
+        private final Path body;
+        private final Path gzip;
+        private final String etag;
+
+        public String getGzipEtag() {
+            return CacheEntry.gzipEtagOf(etag);
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            return CachedResponse.matches(ifNoneMatch, etag) || CachedResponse.matches(ifNoneMatch, getGzipEtag());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.postzen.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds the pre-rendered files marked dirty since the last run, on one node at a time. Marks
+ * are coalesced, so a burst of edits or a batch of scheduled publishes regenerates each document
+ * and the feed once.
+ * Bodies come from the same code paths as the API, so files and live responses are byte-identical.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StaticSiteRefresher {
+
+    /**
+     * The page size and order the post endpoints use when the client gives none.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "publishedAt");
+
+    private static final String LOCK_NAME = "prerender:refresh";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(2);
+    private static final int DRAIN_BATCH = 500;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final StaticSite staticSite;
+    private final PostService postService;
+    private final RedisLock redisLock;
+
+    @Value("${app.prerender.feed-pages}")
+    private int feedPages;
+
+    public int getFeedPages() {
+        return feedPages;
+    }
+
+    /**
+     * Files may be missing or behind after a deploy, and the feed is cheap to rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markFeedOnStartup() {
+        staticSite.markFeed();
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void refresh() {
+        if (!staticSite.isEnabled()) {
+            return;
+        }
+        // One node at a time, so two nodes never write versions of the same document at once
+        String token = redisLock.tryAcquire(LOCK_NAME, LOCK_TTL);
+        if (token == null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (i > 0 && !redisLock.renew(LOCK_NAME, token, LOCK_TTL)) {
+                    break;
+                }
+                List<String> batch = staticSite.drainDirty(DRAIN_BATCH);
+                List<String> failed = new ArrayList<>();
+                for (String mark : batch) {
+                    boolean done = StaticSite.isFeedMark(mark) ? refreshFeed() : refreshPost(mark);
+                    if (!done) {
+                        failed.add(mark);
+                    }
+                }
+                staticSite.requeue(failed);
+                if (batch.size() < DRAIN_BATCH) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Pre-render refresh failed", e);
+        } finally {
+            redisLock.release(LOCK_NAME, token);
+        }
+    }
+
+    @PreDestroy
+    public void refreshOnShutdown() {
+        refresh();
+    }
+
+    private boolean refreshPost(String slug) {
+        String name = StaticSite.postName(slug);
+        try {
+            byte[] body = postService.getPublishedPostBody(slug);
+            if (body != null) {
+                staticSite.write(name, body);
+            } else {
+                staticSite.delete(name);
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to pre-render post {}, retrying on the next run", slug, e);
+            return false;
+        }
+    }
+
+    private boolean refreshFeed() {
+        try {
+            for (int page = 0; page < feedPages; page++) {
+                staticSite.write(StaticSite.feedPageName(page), postService
+                        .getPublishedPosts(PageRequest.of(page, DEFAULT_PAGE_SIZE, DEFAULT_SORT), null).getBody());
+            }
+            staticSite.write(StaticSite.feedHeadName(),
+                    postService.getPublishedFeed(null, DEFAULT_PAGE_SIZE, null).getBody());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to pre-render feed pages, retrying on the next run", e);
+            return false;
+        }
+    }
+}
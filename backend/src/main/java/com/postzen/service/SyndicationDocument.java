@@ -0,0 +1,71 @@
+package com.postzen.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A pre-rendered XML document (sitemap, RSS feed) kept gzip-compressed in Redis, together with
+ * the validators it is served with. Stored as {@code [lastModified:8][etagLength:2][etag][gzip]}.
+ */
+@Getter
+@AllArgsConstructor
+public class SyndicationDocument {
+
+    private final byte[] gzip;
+    private final String etag;
+    private final long lastModified;
+
+    static SyndicationDocument of(String xml, long lastModified) {
+        byte[] body = xml.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // HTTP dates have second precision; anything finer would defeat If-Modified-Since
+        return new SyndicationDocument(out.toByteArray(), CacheEntry.etagOf(body), lastModified / 1000 * 1000);
+    }
+
+    public String getGzipEtag() {
+        return CacheEntry.gzipEtagOf(etag);
+    }
+
+    public byte[] decompress() {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    byte[] encode() {
+        byte[] tag = etag.getBytes(StandardCharsets.US_ASCII);
+        return ByteBuffer.allocate(8 + 2 + tag.length + gzip.length)
+                .putLong(lastModified)
+                .putShort((short) tag.length)
+                .put(tag)
+                .put(gzip)
+                .array();
+    }
+
+    static SyndicationDocument decode(byte[] stored) {
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        long lastModified = buffer.getLong();
+        byte[] tag = new byte[buffer.getShort()];
+        buffer.get(tag);
+        byte[] gzip = Arrays.copyOfRange(stored, buffer.position(), stored.length);
+        return new SyndicationDocument(gzip, new String(tag, StandardCharsets.US_ASCII), lastModified);
+    }
+}
@@ -0,0 +1,570 @@
+package com.postzen.service;
+
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostSyndicationView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code /sitemap.xml} and {@code /feed.xml} pre-rendered and gzipped in Redis, so crawlers
+ * and feed readers cost one Redis GET each.
+ * <p>
+ * Published posts live in a sorted set ordered by publish time, oldest first, and sitemap shard
+ * {@code k} is simply ranks {@code [k * 50000, (k + 1) * 50000)}: a new post lands in the last
+ * shard, an edit re-renders the shard holding it, and only a delete or a back-dated publish
+ * shifts the shards after it. The feed is a capped sorted set of the newest posts with each
+ * {@code <item>} rendered once. Writers only add post ids to a dirty set; one node at a time
+ * drains it, looks the posts up in a single query and re-renders what they touched.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyndicationService {
+
+    /**
+     * The sitemap protocol's limit on URLs per file.
+     */
+    public static final int SHARD_SIZE = 50_000;
+
+    private static final String POSTS_KEY = "sitemap:posts";
+    private static final String ENTRIES_KEY = "sitemap:entries";
+    private static final String SHARD_LASTMOD_KEY = "sitemap:shard-lastmod";
+    private static final String SHARD_COUNT_KEY = "sitemap:shard-count";
+    private static final String FEED_POSTS_KEY = "feedxml:posts";
+    private static final String FEED_ITEMS_KEY = "feedxml:items";
+    private static final String DIRTY_KEY = "syndication:dirty";
+    private static final String REBUILD_KEY = "syndication:rebuild";
+    private static final String DOC_PREFIX = "syndication:doc:";
+    private static final String SITEMAP_DOC = "sitemap";
+    private static final String FEED_DOC = "feed";
+    private static final String LOCK_NAME = "syndication:refresh";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(2);
+    private static final String BUILD_SUFFIX = ":build:";
+    private static final int DRAIN_BATCH = 1000;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final int REBUILD_PAGE_SIZE = 5000;
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private static final DateTimeFormatter W3C_DATE = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final DateTimeFormatter RFC_822_DATE = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    // Swaps a finished rebuild in, but only for the node still holding the refresh lock
+    private static final RedisScript<Long> PUBLISH_BUILD = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) ~= ARGV[1] then return 0 end " +
+            "if redis.call('exists', KEYS[2]) == 1 then redis.call('rename', KEYS[2], KEYS[4]) " +
+            "else redis.call('del', KEYS[4]) end " +
+            "if redis.call('exists', KEYS[3]) == 1 then redis.call('rename', KEYS[3], KEYS[5]) " +
+            "else redis.call('del', KEYS[5]) end " +
+            "return 1",
+            Long.class);
+
+    private final PostRepository postRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final RedisLock redisLock;
+
+    @Value("${app.frontend.url}")
+    private String frontendUrl;
+
+    @Value("${app.syndication.base-url}")
+    private String baseUrl;
+
+    @Value("${app.syndication.feed-size}")
+    private int feedSize;
+
+    // --- Reading ---
+
+    /**
+     * The sitemap index when there is more than one shard, otherwise the only shard itself.
+     */
+    public SyndicationDocument getSitemap() {
+        return read(SITEMAP_DOC);
+    }
+
+    public SyndicationDocument getSitemapShard(int shard) {
+        return shard < 0 ? null : read(shardDoc(shard));
+    }
+
+    public SyndicationDocument getFeed() {
+        return read(FEED_DOC);
+    }
+
+    private SyndicationDocument read(String name) {
+        byte[] stored = binaryRedisTemplate.opsForValue().get(DOC_PREFIX + name);
+        return stored == null ? null : SyndicationDocument.decode(stored);
+    }
+
+    // --- Change tracking ---
+
+    /**
+     * Queues a post whose publication, slug, title or existence may have changed.
+     */
+    public void markPost(UUID id) {
+        markPosts(List.of(id));
+    }
+
+    public void markPosts(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForSet().add(DIRTY_KEY, ids.stream().map(UUID::toString).toArray(String[]::new));
+        } catch (Exception e) {
+            log.error("Failed to queue {} posts for the sitemap and feed", ids.size(), e);
+        }
+    }
+
+    /**
+     * Asks for everything to be rebuilt from the database on the next run, for changes made
+     * behind the service layer's back such as a bulk import.
+     */
+    public void requestRebuild() {
+        try {
+            redisTemplate.opsForValue().set(REBUILD_KEY, "1");
+        } catch (Exception e) {
+            log.error("Failed to request a sitemap and feed rebuild", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.syndication.refresh-ms}")
+    public void refresh() {
+        String token = redisLock.tryAcquire(LOCK_NAME, LOCK_TTL);
+        if (token == null) {
+            return;
+        }
+        try {
+            boolean requested = Boolean.TRUE.equals(redisTemplate.delete(REBUILD_KEY));
+            if (requested || !Boolean.TRUE.equals(binaryRedisTemplate.hasKey(DOC_PREFIX + SITEMAP_DOC))) {
+                try {
+                    rebuild(token);
+                } catch (Exception e) {
+                    requestRebuild();
+                    throw e;
+                }
+                return;
+            }
+            for (int i = 0; i < MAX_BATCHES_PER_RUN && holdLease(token); i++) {
+                List<String> batch = redisTemplate.opsForSet().pop(DIRTY_KEY, DRAIN_BATCH);
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                try {
+                    apply(batch);
+                } catch (Exception e) {
+                    log.error("Failed to update the sitemap and feed, retrying on the next run", e);
+                    redisTemplate.opsForSet().add(DIRTY_KEY, batch.toArray(String[]::new));
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Sitemap and feed refresh failed", e);
+        } finally {
+            redisLock.release(LOCK_NAME, token);
+        }
+    }
+
+    /**
+     * Keeps the refresh lock for another {@code LOCK_TTL}; false when it was lost and this run
+     * must stop, since another node may already be writing.
+     */
+    private boolean holdLease(String token) {
+        return redisLock.renew(LOCK_NAME, token, LOCK_TTL);
+    }
+
+    private void requireLease(String token) {
+        if (!holdLease(token)) {
+            throw new IllegalStateException("Lost the sitemap and feed refresh lock");
+        }
+    }
+
+    // --- Incremental updates ---
+
+    private void apply(List<String> batch) {
+        List<UUID> ids = batch.stream().map(UUID::fromString).toList();
+        Map<UUID, PostSyndicationView> live = postRepository.findPublishedSyndicationViews(ids).stream()
+                .collect(Collectors.toMap(PostSyndicationView::getId, Function.identity()));
+        ZSetOperations<String, String> zset = redisTemplate.opsForZSet();
+
+        long firstShifted = Long.MAX_VALUE;
+        Set<Long> touchedShards = new HashSet<>();
+        boolean feedChanged = false;
+        boolean feedShrunk = false;
+        Set<ZSetOperations.TypedTuple<String>> oldest = zset.rangeWithScores(FEED_POSTS_KEY, 0, 0);
+        Long feedCount = zset.zCard(FEED_POSTS_KEY);
+        double feedFloor = feedCount == null || feedCount < feedSize || oldest == null || oldest.isEmpty()
+                ? Double.NEGATIVE_INFINITY
+                : oldest.iterator().next().getScore();
+
+        for (UUID id : ids) {
+            String member = id.toString();
+            Long oldRank = zset.rank(POSTS_KEY, member);
+            Double oldScore = oldRank == null ? null : zset.score(POSTS_KEY, member);
+            PostSyndicationView post = live.get(id);
+
+            if (post == null) {
+                if (oldRank != null) {
+                    zset.remove(POSTS_KEY, member);
+                    redisTemplate.opsForHash().delete(ENTRIES_KEY, member);
+                    firstShifted = Math.min(firstShifted, oldRank);
+                }
+                Long removed = zset.remove(FEED_POSTS_KEY, member);
+                if (removed != null && removed > 0) {
+                    redisTemplate.opsForHash().delete(FEED_ITEMS_KEY, member);
+                    feedChanged = true;
+                    feedShrunk = true;
+                }
+                continue;
+            }
+
+            double score = publishedMillis(post);
+            zset.add(POSTS_KEY, member, score);
+            redisTemplate.opsForHash().put(ENTRIES_KEY, member, entry(post));
+            if (oldRank != null && oldScore != null && oldScore == score) {
+                touchedShards.add(oldRank / SHARD_SIZE);
+            } else {
+                Long newRank = zset.rank(POSTS_KEY, member);
+                long moved = newRank == null ? Long.MAX_VALUE : newRank;
+                firstShifted = Math.min(firstShifted, oldRank == null ? moved : Math.min(oldRank, moved));
+            }
+
+            if (score >= feedFloor || zset.score(FEED_POSTS_KEY, member) != null) {
+                zset.add(FEED_POSTS_KEY, member, score);
+                redisTemplate.opsForHash().put(FEED_ITEMS_KEY, member, feedItem(post));
+                feedChanged = true;
+            }
+        }
+
+        if (feedChanged) {
+            trimFeed();
+            if (feedShrunk) {
+                // A post left the feed; let the next newest one in
+                reloadFeed();
+            }
+            renderFeed();
+        }
+
+        int shards = shardCount();
+        Set<Long> dirty = new TreeSet<>(touchedShards);
+        for (long shard = firstShifted == Long.MAX_VALUE ? shards : firstShifted / SHARD_SIZE; shard < shards; shard++) {
+            dirty.add(shard);
+        }
+        dirty.removeIf(shard -> shard >= shards);
+        for (long shard : dirty) {
+            renderShard((int) shard);
+        }
+        int previous = storedShardCount();
+        if (!dirty.isEmpty() || previous != shards) {
+            dropShardsFrom(shards, previous);
+            renderSitemapRoot(shards);
+        }
+        log.debug("Sitemap and feed updated for {} posts: {} shards re-rendered, feed {}",
+                ids.size(), dirty.size(), feedChanged ? "re-rendered" : "unchanged");
+    }
+
+    private void trimFeed() {
+        Long count = redisTemplate.opsForZSet().zCard(FEED_POSTS_KEY);
+        if (count == null || count <= feedSize) {
+            return;
+        }
+        Set<String> evicted = redisTemplate.opsForZSet().range(FEED_POSTS_KEY, 0, count - feedSize - 1);
+        redisTemplate.opsForZSet().removeRange(FEED_POSTS_KEY, 0, count - feedSize - 1);
+        if (evicted != null && !evicted.isEmpty()) {
+            redisTemplate.opsForHash().delete(FEED_ITEMS_KEY, evicted.toArray());
+        }
+    }
+
+    // --- Full rebuild ---
+
+    /**
+     * Reloads every published post from the database, walking the table in primary key order,
+     * into keys private to this run, and swaps them in only while still holding the lock, so a
+     * node that lost it mid-way cannot clobber the next one's work. The lock is renewed between
+     * pages and shards. Documents are replaced in place, so readers keep getting the previous
+     * version until the new one is written. Posts marked during the rebuild stay queued and are
+     * applied on the next run.
+     */
+    private void rebuild(String token) {
+        long started = System.currentTimeMillis();
+        String postsBuild = POSTS_KEY + BUILD_SUFFIX + token;
+        String entriesBuild = ENTRIES_KEY + BUILD_SUFFIX + token;
+
+        long total = 0;
+        try {
+            UUID after = new UUID(0, 0);
+            List<PostSyndicationView> page;
+            do {
+                requireLease(token);
+                page = postRepository.findPublishedSyndicationViewsAfter(after, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+                Set<ZSetOperations.TypedTuple<String>> members = new HashSet<>(page.size() * 2);
+                Map<String, String> entries = new HashMap<>(page.size() * 2);
+                for (PostSyndicationView post : page) {
+                    String member = post.getId().toString();
+                    members.add(ZSetOperations.TypedTuple.of(member, (double) publishedMillis(post)));
+                    entries.put(member, entry(post));
+                }
+                redisTemplate.opsForZSet().add(postsBuild, members);
+                redisTemplate.opsForHash().putAll(entriesBuild, entries);
+                total += page.size();
+                after = page.get(page.size() - 1).getId();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            Long published = redisTemplate.execute(PUBLISH_BUILD,
+                    List.of(RedisLock.lockKey(LOCK_NAME), postsBuild, entriesBuild, POSTS_KEY, ENTRIES_KEY), token);
+            if (published == null || published != 1) {
+                throw new IllegalStateException("Lost the sitemap and feed refresh lock");
+            }
+        } finally {
+            redisTemplate.delete(List.of(postsBuild, entriesBuild));
+        }
+
+        requireLease(token);
+        reloadFeed();
+        renderFeed();
+
+        int shards = shardCount();
+        for (int shard = 0; shard < shards; shard++) {
+            requireLease(token);
+            renderShard(shard);
+        }
+        dropShardsFrom(shards, storedShardCount());
+        renderSitemapRoot(shards);
+        log.info("Sitemap and feed rebuilt: {} posts in {} shards, {} ms",
+                total, shards, System.currentTimeMillis() - started);
+    }
+
+    private void reloadFeed() {
+        List<PostSyndicationView> recent = postRepository.findRecentSyndicationViews(PageRequest.of(0, feedSize));
+        redisTemplate.delete(List.of(FEED_POSTS_KEY, FEED_ITEMS_KEY));
+        if (recent.isEmpty()) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> members = new HashSet<>();
+        Map<String, String> items = new HashMap<>();
+        for (PostSyndicationView post : recent) {
+            String member = post.getId().toString();
+            members.add(ZSetOperations.TypedTuple.of(member, (double) publishedMillis(post)));
+            items.put(member, feedItem(post));
+        }
+        redisTemplate.opsForZSet().add(FEED_POSTS_KEY, members);
+        redisTemplate.opsForHash().putAll(FEED_ITEMS_KEY, items);
+    }
+
+    // --- Rendering ---
+
+    private int shardCount() {
+        Long count = redisTemplate.opsForZSet().zCard(POSTS_KEY);
+        // Always at least one shard, so an empty site still serves a valid (empty) sitemap
+        return count == null || count == 0 ? 1 : (int) ((count + SHARD_SIZE - 1) / SHARD_SIZE);
+    }
+
+    private int storedShardCount() {
+        String stored = redisTemplate.opsForValue().get(SHARD_COUNT_KEY);
+        return stored == null ? 0 : Integer.parseInt(stored);
+    }
+
+    private void dropShardsFrom(int from, int previous) {
+        for (int shard = from; shard < previous; shard++) {
+            binaryRedisTemplate.delete(DOC_PREFIX + shardDoc(shard));
+            redisTemplate.opsForHash().delete(SHARD_LASTMOD_KEY, String.valueOf(shard));
+        }
+        redisTemplate.opsForValue().set(SHARD_COUNT_KEY, String.valueOf(from));
+    }
+
+    private void renderShard(int shard) {
+        Set<String> members = redisTemplate.opsForZSet().range(POSTS_KEY, (long) shard * SHARD_SIZE,
+                (long) (shard + 1) * SHARD_SIZE - 1);
+        List<Object> keys = members == null ? List.of() : new ArrayList<>(members);
+        List<Object> entries = keys.isEmpty() ? List.of() : redisTemplate.opsForHash().multiGet(ENTRIES_KEY, keys);
+
+        StringBuilder xml = new StringBuilder(128 + entries.size() * 128)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<urlset xmlns=\"").append(SITEMAP_NS).append("\">\n");
+        long lastModified = 0;
+        for (Object value : entries) {
+            if (value == null) {
+                continue;
+            }
+            String entry = (String) value;
+            int space = entry.indexOf(' ');
+            long lastmod = Long.parseLong(entry.substring(0, space));
+            lastModified = Math.max(lastModified, lastmod);
+            xml.append("  <url><loc>").append(escape(postUrl(entry.substring(space + 1))))
+                    .append("</loc><lastmod>").append(w3cDate(lastmod)).append("</lastmod></url>\n");
+        }
+        xml.append("</urlset>\n");
+
+        write(shardDoc(shard), SyndicationDocument.of(xml.toString(), lastModified));
+        redisTemplate.opsForHash().put(SHARD_LASTMOD_KEY, String.valueOf(shard), String.valueOf(lastModified));
+    }
+
+    private void renderSitemapRoot(int shards) {
+        if (shards == 1) {
+            byte[] only = binaryRedisTemplate.opsForValue().get(DOC_PREFIX + shardDoc(0));
+            if (only != null) {
+                binaryRedisTemplate.opsForValue().set(DOC_PREFIX + SITEMAP_DOC, only);
+            }
+            return;
+        }
+
+        Map<Object, Object> lastmods = redisTemplate.opsForHash().entries(SHARD_LASTMOD_KEY);
+        StringBuilder xml = new StringBuilder(256 + shards * 128)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<sitemapindex xmlns=\"").append(SITEMAP_NS).append("\">\n");
+        long lastModified = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            Object stored = lastmods.get(String.valueOf(shard));
+            long lastmod = stored == null ? 0 : Long.parseLong((String) stored);
+            lastModified = Math.max(lastModified, lastmod);
+            xml.append("  <sitemap><loc>").append(escape(baseUrl + "/sitemap-" + shard + ".xml")).append("</loc>");
+            if (lastmod > 0) {
+                xml.append("<lastmod>").append(w3cDate(lastmod)).append("</lastmod>");
+            }
+            xml.append("</sitemap>\n");
+        }
+        xml.append("</sitemapindex>\n");
+        write(SITEMAP_DOC, SyndicationDocument.of(xml.toString(), lastModified));
+    }
+
+    private void renderFeed() {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(FEED_POSTS_KEY, 0, feedSize - 1);
+        List<Object> keys = members == null ? List.of() : new ArrayList<>(members);
+        List<Object> items = keys.isEmpty() ? List.of() : redisTemplate.opsForHash().multiGet(FEED_ITEMS_KEY, keys);
+
+        long lastModified = 0;
+        StringBuilder body = new StringBuilder(items.size() * 512);
+        for (Object value : items) {
+            if (value == null) {
+                continue;
+            }
+            String item = (String) value;
+            int space = item.indexOf(' ');
+            lastModified = Math.max(lastModified, Long.parseLong(item.substring(0, space)));
+            body.append(item, space + 1, item.length());
+        }
+
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">\n" +
+                "<channel>\n" +
+                "  <title>PostZen</title>\n" +
+                "  <link>" + escape(frontendUrl + "/") + "</link>\n" +
+                "  <description>Latest posts on PostZen</description>\n" +
+                (lastModified > 0 ? "  <lastBuildDate>" + rfc822Date(lastModified) + "</lastBuildDate>\n" : "") +
+                body +
+                "</channel>\n" +
+                "</rss>\n";
+        write(FEED_DOC, SyndicationDocument.of(xml, lastModified));
+    }
+
+    /**
+     * A feed item prefixed with its last modification time, rendered once when the post changes.
+     */
+    private String feedItem(PostSyndicationView post) {
+        String link = escape(postUrl(post.getSlug()));
+        StringBuilder item = new StringBuilder(512)
+                .append(updatedMillis(post)).append(' ')
+                .append("  <item>\n")
+                .append("    <title>").append(escape(post.getTitle())).append("</title>\n")
+                .append("    <link>").append(link).append("</link>\n")
+                .append("    <guid isPermaLink=\"false\">").append(post.getId()).append("</guid>\n")
+                .append("    <pubDate>").append(rfc822Date(publishedMillis(post))).append("</pubDate>\n");
+        if (post.getAuthorUsername() != null) {
+            item.append("    <dc:creator>").append(escape(post.getAuthorUsername())).append("</dc:creator>\n");
+        }
+        if (post.getExcerpt() != null) {
+            item.append("    <description>").append(escape(post.getExcerpt())).append("</description>\n");
+        }
+        return item.append("  </item>\n").toString();
+    }
+
+    private void write(String name, SyndicationDocument document) {
+        binaryRedisTemplate.opsForValue().set(DOC_PREFIX + name, document.encode());
+    }
+
+    private static String shardDoc(int shard) {
+        return "sitemap-" + shard;
+    }
+
+    private static String entry(PostSyndicationView post) {
+        // Slugs never contain spaces
+        return updatedMillis(post) + " " + post.getSlug();
+    }
+
+    private String postUrl(String slug) {
+        return frontendUrl + "/post/" + slug;
+    }
+
+    private static long publishedMillis(PostSyndicationView post) {
+        return millis(post.getPublishedAt() != null ? post.getPublishedAt() : post.getUpdatedAt());
+    }
+
+    private static long updatedMillis(PostSyndicationView post) {
+        LocalDateTime updated = post.getUpdatedAt();
+        return Math.max(publishedMillis(post), updated == null ? 0 : millis(updated));
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String w3cDate(long millis) {
+        return W3C_DATE.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static String rfc822Date(long millis) {
+        return RFC_822_DATE.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC));
+    }
+
+    static String escape(String text) {
+        StringBuilder out = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&apos;";
+                default -> c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? "" : null;
+            };
+            if (replacement != null) {
+                if (out == null) {
+                    out = new StringBuilder(text.length() + 16).append(text, 0, i);
+                }
+                out.append(replacement);
+            } else if (out != null) {
+                out.append(c);
+            }
+        }
+        return out == null ? text : out.toString();
+    }
+}
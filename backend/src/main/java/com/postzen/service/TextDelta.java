@@ -0,0 +1,228 @@
+package com.postzen.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Line-based copy/insert deltas between two texts, deflated for storage. The target is described
+ * as runs of lines copied from the base plus literal inserted text, so an autosave that touches
+ * one paragraph of a long article encodes to a few bytes. Lines keep their terminators, which
+ * makes applying a delta exact.
+ */
+final class TextDelta {
+
+    private static final int TAG_COPY = 0;
+    private static final int TAG_INSERT = 1;
+    private static final int TAG_END = 2;
+
+    // Bounds the work per target line when a line (blank, "```") repeats all over the base
+    private static final int MAX_CANDIDATES = 16;
+    // A copy costs a few bytes; shorter runs away from the expected position are cheaper inserted
+    private static final int MIN_COPY_CHARS = 8;
+
+    private TextDelta() {
+    }
+
+    /**
+     * Either {@code count} lines copied from base line {@code start}, or literal {@code text}.
+     */
+    @Getter
+    @AllArgsConstructor
+    static class Op {
+        private final int start;
+        private final int count;
+        private final String text;
+
+        boolean isCopy() {
+            return text == null;
+        }
+    }
+
+    static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        int from = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines.add(text.substring(from, i + 1));
+                from = i + 1;
+            }
+        }
+        if (from < text.length()) {
+            lines.add(text.substring(from));
+        }
+        return lines;
+    }
+
+    static List<Op> compute(List<String> base, List<String> target) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int j = 0; j < base.size(); j++) {
+            List<Integer> at = positions.computeIfAbsent(base.get(j), line -> new ArrayList<>(1));
+            if (at.size() < MAX_CANDIDATES) {
+                at.add(j);
+            }
+        }
+
+        List<Op> ops = new ArrayList<>();
+        StringBuilder inserted = new StringBuilder();
+        int expected = 0;
+        int i = 0;
+        while (i < target.size()) {
+            String line = target.get(i);
+            int bestStart = -1;
+            int bestLength = 0;
+            if (expected < base.size() && base.get(expected).equals(line)) {
+                bestStart = expected;
+                bestLength = matchLength(base, expected, target, i);
+            }
+            for (int candidate : positions.getOrDefault(line, List.of())) {
+                if (candidate != expected) {
+                    int length = matchLength(base, candidate, target, i);
+                    if (length > bestLength) {
+                        bestStart = candidate;
+                        bestLength = length;
+                    }
+                }
+            }
+
+            if (bestLength > 0 && (bestStart == expected || chars(target, i, bestLength) >= MIN_COPY_CHARS)) {
+                if (inserted.length() > 0) {
+                    ops.add(new Op(0, 0, inserted.toString()));
+                    inserted.setLength(0);
+                }
+                ops.add(new Op(bestStart, bestLength, null));
+                i += bestLength;
+                expected = bestStart + bestLength;
+            } else {
+                inserted.append(line);
+                i++;
+            }
+        }
+        if (inserted.length() > 0) {
+            ops.add(new Op(0, 0, inserted.toString()));
+        }
+        return ops;
+    }
+
+    static byte[] encode(String base, String target) {
+        List<String> baseLines = lines(base);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            writeVarint(out, baseLines.size());
+            for (Op op : compute(baseLines, lines(target))) {
+                if (op.isCopy()) {
+                    out.writeByte(TAG_COPY);
+                    writeVarint(out, op.getStart());
+                    writeVarint(out, op.getCount());
+                } else {
+                    byte[] text = op.getText().getBytes(StandardCharsets.UTF_8);
+                    out.writeByte(TAG_INSERT);
+                    writeVarint(out, text.length);
+                    out.write(text);
+                }
+            }
+            out.writeByte(TAG_END);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String apply(String base, byte[] delta) {
+        List<String> baseLines = lines(base);
+        StringBuilder target = new StringBuilder(base.length() + 64);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(delta)))) {
+            if (readVarint(in) != baseLines.size()) {
+                throw new IllegalStateException("Delta does not apply to this base text");
+            }
+            for (int tag = in.readUnsignedByte(); tag != TAG_END; tag = in.readUnsignedByte()) {
+                if (tag == TAG_COPY) {
+                    int start = readVarint(in);
+                    int count = readVarint(in);
+                    for (int j = start; j < start + count; j++) {
+                        target.append(baseLines.get(j));
+                    }
+                } else if (tag == TAG_INSERT) {
+                    byte[] text = new byte[readVarint(in)];
+                    in.readFully(text);
+                    target.append(new String(text, StandardCharsets.UTF_8));
+                } else {
+                    throw new IllegalStateException("Corrupt delta");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return target.toString();
+    }
+
+    static byte[] compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length() / 3 + 16);
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String decompress(byte[] stored) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(stored))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int matchLength(List<String> base, int from, List<String> target, int at) {
+        int length = 0;
+        while (from + length < base.size() && at + length < target.size()
+                && base.get(from + length).equals(target.get(at + length))) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int chars(List<String> lines, int from, int count) {
+        int total = 0;
+        for (int j = from; j < from + count; j++) {
+            total += lines.get(j).length();
+        }
+        return total;
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Corrupt delta");
+    }
+}
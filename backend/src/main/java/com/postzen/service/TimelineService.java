@@ -0,0 +1,266 @@
+package com.postzen.service;
+
+import com.postzen.dto.response.CursorResponse;
+import com.postzen.dto.response.PostSummaryResponse;
+import com.postzen.entity.User;
+import com.postzen.exception.ForbiddenException;
+import com.postzen.repository.FollowRepository;
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostSummaryView;
+import com.postzen.repository.PostTitleView;
+import com.postzen.repository.UserRepository;
+import com.postzen.security.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Home timelines. Posts by regular authors are pushed into a capped Redis sorted set per follower
+ * when published (score = publish time); posts by authors with more followers than the fan-out
+ * threshold are pulled at read time instead, so one publish never writes millions of keys.
+ * An author who has reached the threshold stays pulled for good: their posts from then on were
+ * never pushed, so switching back to pushing would drop them from followers' timelines.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineService {
+
+    private static final String TIMELINE_PREFIX = "timeline:";
+    private static final int FANOUT_BATCH_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    // Same order as the database: publishedAt, then id (PostgreSQL compares uuids like their text form)
+    private static final Comparator<PostSummaryView> NEWEST_FIRST = Comparator
+            .comparing(PostSummaryView::getPublishedAt)
+            .thenComparing(view -> view.getId().toString())
+            .reversed();
+
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final SecurityUtils securityUtils;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CursorSigner cursorSigner;
+
+    @Value("${app.timeline.max-size}")
+    private int maxSize;
+
+    @Value("${app.timeline.fanout-threshold}")
+    private long fanoutThreshold;
+
+    private String timelineKey(UUID userId) {
+        return TIMELINE_PREFIX + userId;
+    }
+
+    private static double score(LocalDateTime publishedAt) {
+        return publishedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    boolean isPulled(User author) {
+        return author.isTimelinePulled() || author.getFollowerCount() >= fanoutThreshold;
+    }
+
+    /**
+     * Records that an author is at or over the fan-out threshold. Called in the follow and unfollow
+     * transactions while the count is still high, so the mark is never missed on the way down.
+     */
+    void markPulledIfOverThreshold(UUID authorId) {
+        userRepository.markTimelinePulled(authorId, fanoutThreshold);
+    }
+
+    // --- Writes ---
+
+    public void fanOut(UUID postId, UUID authorId, LocalDateTime publishedAt) {
+        User author = userRepository.findById(authorId).orElse(null);
+        if (author == null || isPulled(author)) {
+            return;
+        }
+
+        String member = postId.toString();
+        double score = score(publishedAt);
+        try {
+            UUID after = MIN_UUID;
+            List<UUID> followers;
+            do {
+                followers = followRepository.findFollowerIdsAfter(authorId, after, PageRequest.ofSize(FANOUT_BATCH_SIZE));
+                if (followers.isEmpty()) {
+                    break;
+                }
+                pushToTimelines(followers, member, score);
+                after = followers.get(followers.size() - 1);
+            } while (followers.size() == FANOUT_BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("Failed to fan out post {} to followers of {}", postId, authorId, e);
+        }
+    }
+
+    private void pushToTimelines(List<UUID> readers, String member, double score) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ZSetOperations<String, String> zSet = ((RedisOperations<String, String>) operations).opsForZSet();
+                for (UUID reader : readers) {
+                    String key = timelineKey(reader);
+                    zSet.add(key, member, score);
+                    zSet.removeRange(key, 0, -(maxSize + 1L));
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Seeds a new follower's timeline with the followee's recent posts.
+     */
+    public void backfill(UUID followerId, User followee) {
+        if (isPulled(followee)) {
+            return;
+        }
+        try {
+            Set<ZSetOperations.TypedTuple<String>> entries = new HashSet<>();
+            for (PostTitleView post : recentPosts(followee.getId())) {
+                entries.add(new DefaultTypedTuple<>(post.getId().toString(), score(post.getPublishedAt())));
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            String key = timelineKey(followerId);
+            redisTemplate.opsForZSet().add(key, entries);
+            redisTemplate.opsForZSet().removeRange(key, 0, -(maxSize + 1L));
+        } catch (Exception e) {
+            log.error("Failed to backfill timeline of {}", followerId, e);
+        }
+    }
+
+    public void removeAuthor(UUID followerId, UUID followeeId) {
+        try {
+            Object[] members = recentPosts(followeeId).stream().map(post -> post.getId().toString()).toArray();
+            if (members.length > 0) {
+                redisTemplate.opsForZSet().remove(timelineKey(followerId), members);
+            }
+        } catch (Exception e) {
+            log.error("Failed to remove {} from timeline of {}", followeeId, followerId, e);
+        }
+    }
+
+    private List<PostTitleView> recentPosts(UUID authorId) {
+        return postRepository.findPublishedTitlesByAuthor(authorId, PageRequest.ofSize(maxSize));
+    }
+
+    // --- Reads ---
+
+    public CursorResponse<PostSummaryResponse> getTimeline(String cursor, int size) {
+        User reader = securityUtils.getCurrentUser();
+        if (reader == null)
+            throw new ForbiddenException("Authentication required");
+
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        FeedCursor position = cursor != null ? FeedCursor.decode(cursor, cursorSigner) : null;
+
+        // Each source yields its own newest limit + 1 posts, so the merged top limit + 1 is exact
+        Map<UUID, PostSummaryView> merged = new LinkedHashMap<>();
+        for (PostSummaryView view : readPushed(reader.getId(), position, limit + 1)) {
+            merged.putIfAbsent(view.getId(), view);
+        }
+        for (PostSummaryView view : readPulled(reader.getId(), position, limit + 1)) {
+            merged.putIfAbsent(view.getId(), view);
+        }
+
+        List<PostSummaryView> ordered = merged.values().stream().sorted(NEWEST_FIRST).toList();
+        boolean hasNext = ordered.size() > limit;
+        List<PostSummaryView> page = hasNext ? ordered.subList(0, limit) : ordered;
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSummaryView last = page.get(page.size() - 1);
+            nextCursor = new FeedCursor(last.getPublishedAt(), last.getId()).encode(cursorSigner);
+        }
+        return CursorResponse.of(page.stream().map(PostSummaryResponse::fromView).toList(), limit, nextCursor);
+    }
+
+    /**
+     * Walks the reader's sorted set from the cursor down, hydrating ids in one query per window.
+     * Entries whose post was deleted or unpublished are dropped from the set on the way.
+     */
+    private List<PostSummaryView> readPushed(UUID readerId, FeedCursor position, int wanted) {
+        String key = timelineKey(readerId);
+        double max = position != null ? score(position.getPublishedAt()) : Double.POSITIVE_INFINITY;
+        List<PostSummaryView> posts = new ArrayList<>();
+
+        try {
+            long offset = 0;
+            while (posts.size() < wanted) {
+                Set<String> members = redisTemplate.opsForZSet()
+                        .reverseRangeByScore(key, Double.NEGATIVE_INFINITY, max, offset, wanted);
+                if (members == null || members.isEmpty()) {
+                    break;
+                }
+
+                List<UUID> ids = members.stream().map(UUID::fromString).toList();
+                Map<UUID, PostSummaryView> found = postRepository.findPublishedSummariesByIds(ids).stream()
+                        .collect(Collectors.toMap(PostSummaryView::getId, Function.identity()));
+
+                List<String> stale = new ArrayList<>();
+                for (UUID id : ids) {
+                    PostSummaryView view = found.get(id);
+                    if (view == null) {
+                        stale.add(id.toString());
+                    } else if (position == null || isBefore(view, position)) {
+                        posts.add(view);
+                    }
+                }
+                if (!stale.isEmpty()) {
+                    redisTemplate.opsForZSet().remove(key, stale.toArray());
+                }
+                if (members.size() < wanted) {
+                    break;
+                }
+                offset += members.size() - stale.size();
+            }
+        } catch (Exception e) {
+            log.error("Failed to read timeline of {}", readerId, e);
+        }
+        return posts;
+    }
+
+    private List<PostSummaryView> readPulled(UUID readerId, FeedCursor position, int wanted) {
+        List<UUID> authorIds = followRepository.findPulledFolloweeIds(readerId, fanoutThreshold);
+        if (authorIds.isEmpty()) {
+            return List.of();
+        }
+        Pageable pageable = PageRequest.ofSize(wanted);
+        return position == null
+                ? postRepository.findPublishedFeedByAuthors(authorIds, pageable)
+                : postRepository.findPublishedFeedByAuthorsAfter(authorIds, position.getPublishedAt(),
+                        position.getId(), pageable);
+    }
+
+    private static boolean isBefore(PostSummaryView view, FeedCursor position) {
+        int cmp = view.getPublishedAt().compareTo(position.getPublishedAt());
+        return cmp < 0 || (cmp == 0 && view.getId().toString().compareTo(position.getId().toString()) < 0);
+    }
+}
@@ -0,0 +1,146 @@
+package com.postzen.service;
+
+import com.postzen.dto.response.PostSummaryResponse;
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostSummaryView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending posts over a sliding window. Activity is added to one sorted set per hour; about once
+ * a minute the last {@link #WINDOW_BUCKETS} hours are merged with exponential time decay into
+ * {@code trending:current}, so a read is a single ranged lookup plus one batched post fetch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingService {
+
+    private static final String BUCKET_PREFIX = "trending:bucket:";
+    private static final String CURRENT_KEY = "trending:current";
+    private static final String REBUILD_LOCK = "trending:rebuild";
+    private static final int WINDOW_BUCKETS = 24;
+    private static final double HALF_LIFE_HOURS = 6;
+    private static final long MAX_RANKED = 500;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private static final double VIEW_WEIGHT = 1;
+    private static final double COMMENT_WEIGHT = 5;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisLock redisLock;
+    private final PostRepository postRepository;
+
+    private static long currentBucket() {
+        return System.currentTimeMillis() / Duration.ofHours(1).toMillis();
+    }
+
+    private static String bucketKey(long bucket) {
+        return BUCKET_PREFIX + bucket;
+    }
+
+    // --- Writes ---
+
+    public void recordViews(Map<UUID, Long> views) {
+        if (views.isEmpty()) {
+            return;
+        }
+        String key = bucketKey(currentBucket());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    views.forEach((id, count) -> ops.opsForZSet().incrementScore(key, id.toString(), count * VIEW_WEIGHT));
+                    ops.expire(key, Duration.ofHours(WINDOW_BUCKETS + 1));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to record trending views for {} posts", views.size(), e);
+        }
+    }
+
+    public void recordComment(UUID postId) {
+        String key = bucketKey(currentBucket());
+        try {
+            redisTemplate.opsForZSet().incrementScore(key, postId.toString(), COMMENT_WEIGHT);
+            redisTemplate.expire(key, Duration.ofHours(WINDOW_BUCKETS + 1));
+        } catch (Exception e) {
+            log.error("Failed to record trending comment for post {}", postId, e);
+        }
+    }
+
+    /**
+     * Recomputes the decayed ranking. The lock is left to expire rather than released,
+     * so the merge runs at most once per interval across all nodes.
+     */
+    @Scheduled(fixedRate = 60000)
+    public void rebuild() {
+        if (redisLock.tryAcquire(REBUILD_LOCK, Duration.ofSeconds(55)) == null) {
+            return;
+        }
+
+        long now = currentBucket();
+        List<String> keys = new ArrayList<>(WINDOW_BUCKETS);
+        double[] weights = new double[WINDOW_BUCKETS];
+        for (int age = 0; age < WINDOW_BUCKETS; age++) {
+            keys.add(bucketKey(now - age));
+            weights[age] = Math.pow(0.5, age / HALF_LIFE_HOURS);
+        }
+
+        try {
+            redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()), CURRENT_KEY,
+                    Aggregate.SUM, Weights.of(weights));
+            redisTemplate.opsForZSet().removeRange(CURRENT_KEY, 0, -(MAX_RANKED + 1));
+        } catch (Exception e) {
+            log.error("Failed to rebuild trending ranking", e);
+        }
+    }
+
+    // --- Reads ---
+
+    public List<PostSummaryResponse> getTrending(int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        Set<String> members;
+        try {
+            members = redisTemplate.opsForZSet().reverseRange(CURRENT_KEY, 0, limit - 1);
+        } catch (Exception e) {
+            log.error("Failed to read trending ranking", e);
+            return List.of();
+        }
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = members.stream().map(UUID::fromString).toList();
+        Map<UUID, PostSummaryView> posts = postRepository.findPublishedSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(PostSummaryView::getId, Function.identity()));
+
+        // Keep the ranking order; posts deleted or unpublished since they were scored drop out
+        return ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .map(PostSummaryResponse::fromView)
+                .toList();
+    }
+}
@@ -0,0 +1,207 @@
+package com.postzen.service;
+
+import com.postzen.repository.PostRepository;
+import com.postzen.repository.PostSlugView;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post reads without writing anything on the read path. Raw views go to a striped
+ * {@link LongAdder} per post and reader ids to an in-memory set; a background flush merges the
+ * readers into a per-post Redis HyperLogLog (shared by all nodes) and writes view deltas and
+ * unique-reader estimates to Postgres in JDBC batches.
+ * Only reads answered with the full body count; a 304 revalidation is a client re-checking a copy
+ * it already has. Reads are keyed by slug so a body served straight from cache can be counted
+ * without a lookup; slugs are resolved to post ids once per flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewTracker {
+
+    private static final String READERS_PREFIX = "views:readers:";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostRepository postRepository;
+    private final TrendingService trendingService;
+
+    @Value("${app.views.max-pending-readers}")
+    private int maxPendingReaders;
+
+    private final ConcurrentMap<String, LongAdder> views = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> readers = new ConcurrentHashMap<>();
+
+    public void record(String slug, String reader) {
+        views.computeIfAbsent(slug, key -> new LongAdder()).increment();
+
+        Set<String> pending = readers.computeIfAbsent(slug, key -> ConcurrentHashMap.newKeySet());
+        // A flood of anonymous readers between flushes must not grow the heap without bound
+        if (pending.size() < maxPendingReaders) {
+            pending.add(reader);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms}")
+    public void flush() {
+        Map<String, Long> viewsBySlug = drainViews();
+        Map<String, Set<String>> readersBySlug = drainReaders();
+        if (viewsBySlug.isEmpty() && readersBySlug.isEmpty()) {
+            return;
+        }
+
+        Set<String> slugs = new HashSet<>(viewsBySlug.keySet());
+        slugs.addAll(readersBySlug.keySet());
+        Map<String, UUID> ids;
+        try {
+            ids = resolveIds(slugs);
+        } catch (Exception e) {
+            log.error("Failed to resolve viewed posts, keeping view counts for the next flush", e);
+            restore(viewsBySlug);
+            return;
+        }
+
+        Map<UUID, Long> viewDeltas = new HashMap<>();
+        viewsBySlug.forEach((slug, delta) -> {
+            UUID id = ids.get(slug);
+            if (id != null) {
+                viewDeltas.merge(id, delta, Long::sum);
+            }
+        });
+        Map<UUID, Set<String>> readersById = new HashMap<>();
+        readersBySlug.forEach((slug, pending) -> {
+            UUID id = ids.get(slug);
+            if (id != null) {
+                readersById.computeIfAbsent(id, key -> new HashSet<>()).addAll(pending);
+            }
+        });
+
+        Map<UUID, Long> uniqueReaders = mergeReaders(readersById);
+
+        List<Object[]> rows = new ArrayList<>();
+        viewDeltas.forEach((id, delta) -> rows.add(new Object[] { delta, uniqueReaders.remove(id), id }));
+        uniqueReaders.forEach((id, unique) -> rows.add(new Object[] { 0L, unique, id }));
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            // One transaction, so a failure part-way leaves nothing written and the restore cannot double count
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < rows.size(); i += FLUSH_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate("UPDATE posts SET view_count = view_count + ?, " +
+                            "unique_readers = GREATEST(unique_readers, COALESCE(?, 0)) WHERE id = ?",
+                            rows.subList(i, Math.min(i + FLUSH_BATCH_SIZE, rows.size())));
+                }
+            });
+            log.debug("Flushed view counts for {} posts", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to flush view counts, keeping them for the next flush", e);
+            restore(viewsBySlug);
+            return;
+        }
+        // Credited only once written, so views restored for the next flush are not counted twice
+        trendingService.recordViews(viewDeltas);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<String, Long> drainViews() {
+        Map<String, Long> deltas = new HashMap<>();
+        views.forEach((slug, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(slug, delta);
+            } else {
+                // Idle since the last flush; a read racing this removal is the only count that can be lost
+                views.remove(slug, adder);
+            }
+        });
+        return deltas;
+    }
+
+    private void restore(Map<String, Long> viewsBySlug) {
+        viewsBySlug.forEach((slug, delta) -> views.computeIfAbsent(slug, key -> new LongAdder()).add(delta));
+    }
+
+    private Map<String, Set<String>> drainReaders() {
+        Map<String, Set<String>> batch = new HashMap<>();
+        for (String slug : readers.keySet()) {
+            Set<String> pending = readers.remove(slug);
+            if (pending != null && !pending.isEmpty()) {
+                batch.put(slug, pending);
+            }
+        }
+        return batch;
+    }
+
+    private Map<String, UUID> resolveIds(Set<String> slugs) {
+        Map<String, UUID> ids = new HashMap<>();
+        List<String> all = new ArrayList<>(slugs);
+        for (int i = 0; i < all.size(); i += FLUSH_BATCH_SIZE) {
+            for (PostSlugView post : postRepository.findPublishedIdsBySlugs(
+                    all.subList(i, Math.min(i + FLUSH_BATCH_SIZE, all.size())))) {
+                ids.put(post.getSlug(), post.getId());
+            }
+        }
+        return ids;
+    }
+
+    private Map<UUID, Long> mergeReaders(Map<UUID, Set<String>> batch) {
+        Map<UUID, Long> counts = new HashMap<>();
+        if (batch.isEmpty()) {
+            return counts;
+        }
+
+        List<UUID> ids = new ArrayList<>(batch.keySet());
+        try {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (UUID id : ids) {
+                        String key = READERS_PREFIX + id;
+                        ops.opsForHyperLogLog().add(key, batch.get(id).toArray(new String[0]));
+                        ops.opsForHyperLogLog().size(key);
+                    }
+                    return null;
+                }
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                Object count = results.get(i * 2 + 1);
+                if (count instanceof Long unique) {
+                    counts.put(ids.get(i), unique);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to merge unique readers for {} posts", ids.size(), e);
+        }
+        return counts;
+    }
+}
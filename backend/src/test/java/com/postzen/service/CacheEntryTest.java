@@ -0,0 +1,123 @@
+package com.postzen.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheEntryTest {
+
+    private static final byte[] JSON = ("{\"id\":\"6f1c\",\"title\":\"Caching\",\"tags\":[\"redis\",\"json\"],"
+            + "\"views\":12,\"draft\":false,\"body\":\"Ünïcode ✓ and \\\"quotes\\\"\"}").getBytes(StandardCharsets.UTF_8);
+
+    @ParameterizedTest
+    @EnumSource(CacheCodec.class)
+    void roundTripsEveryCodec(CacheCodec codec) {
+        CacheEntry entry = CacheEntry.of(JSON, 1_700_000_000_000L, 42);
+
+        byte[] stored = entry.encode(codec);
+        CacheEntry read = CacheEntry.decode(stored);
+
+        assertThat(stored[1]).isEqualTo((byte) codec.id());
+        assertThat(read.getPayloadBytes()).isEqualTo(JSON);
+        assertThat(read.getEtag()).isEqualTo(entry.getEtag());
+        assertThat(read.getExpiresAt()).isEqualTo(1_700_000_000_000L);
+        assertThat(read.getComputeMillis()).isEqualTo(42);
+        assertThat(read.isMissing()).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(CacheCodec.class)
+    void decodesCodecOnlyOnce(CacheCodec codec) {
+        CacheEntry read = CacheEntry.decode(CacheEntry.of(JSON, 0, 0).encode(codec));
+
+        assertThat(read.getPayloadBytes()).isSameAs(read.getPayloadBytes());
+    }
+
+    @Test
+    void storesJsonVerbatimAfterTheHeader() {
+        CacheEntry entry = CacheEntry.of(JSON, 5, 7);
+        byte[] etag = entry.getEtag().getBytes(StandardCharsets.US_ASCII);
+
+        byte[] stored = entry.encode(CacheCodec.JSON);
+
+        assertThat(stored).hasSize(2 + Long.BYTES * 2 + Short.BYTES + etag.length + JSON.length);
+        assertThat(stored[0]).isEqualTo((byte) 1);
+        assertThat(stored[1]).isEqualTo((byte) 0);
+        byte[] body = new byte[JSON.length];
+        System.arraycopy(stored, stored.length - JSON.length, body, 0, JSON.length);
+        assertThat(body).isEqualTo(JSON);
+    }
+
+    @Test
+    void keepsCodecIdsStable() {
+        // Ids are written into Redis; changing one makes every stored entry of that codec unreadable
+        assertThat(CacheCodec.JSON.id()).isZero();
+        assertThat(CacheCodec.GZIP.id()).isEqualTo(1);
+        assertThat(CacheCodec.SMILE.id()).isEqualTo(2);
+        for (CacheCodec codec : CacheCodec.values()) {
+            assertThat(CacheCodec.fromId(codec.id())).isSameAs(codec);
+        }
+    }
+
+    @Test
+    void readsLegacyTextEntryWithEtag() {
+        byte[] stored = "1700000000000:42:\"legacy-etag\"\n{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+
+        CacheEntry read = CacheEntry.decode(stored);
+
+        assertThat(read.getPayloadBytes()).isEqualTo("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        assertThat(read.getEtag()).isEqualTo("\"legacy-etag\"");
+        assertThat(read.getExpiresAt()).isEqualTo(1_700_000_000_000L);
+        assertThat(read.getComputeMillis()).isEqualTo(42);
+    }
+
+    @Test
+    void readsLegacyTextEntryWithoutEtag() {
+        byte[] payload = "{\"a\":[1,2]}".getBytes(StandardCharsets.UTF_8);
+        byte[] stored = ("1700000000000:42\n" + new String(payload, StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.UTF_8);
+
+        CacheEntry read = CacheEntry.decode(stored);
+
+        assertThat(read.getPayloadBytes()).isEqualTo(payload);
+        assertThat(read.getEtag()).isEqualTo(CacheEntry.etagOf(payload));
+        assertThat(read.getExpiresAt()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void readsHeaderlessLegacyEntryAsNeverExpiring() {
+        CacheEntry read = CacheEntry.decode(JSON);
+
+        assertThat(read.getPayloadBytes()).isEqualTo(JSON);
+        assertThat(read.getEtag()).isEqualTo(CacheEntry.etagOf(JSON));
+        assertThat(read.getExpiresAt()).isEqualTo(Long.MAX_VALUE);
+        assertThat(read.shouldRefreshEarly(System.currentTimeMillis())).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(CacheCodec.class)
+    void recognisesMissingMarker(CacheCodec codec) {
+        byte[] marker = CacheEntry.MISSING.getBytes(StandardCharsets.UTF_8);
+
+        CacheEntry read = CacheEntry.decode(CacheEntry.of(marker, 5, 0).encode(codec));
+
+        assertThat(read.isMissing()).isTrue();
+        assertThat(read.getPayloadBytes()).isEmpty();
+    }
+
+    @Test
+    void givesEqualPayloadsEqualEtags() {
+        assertThat(CacheEntry.etagOf(JSON)).isEqualTo(CacheEntry.etagOf(JSON.clone()))
+                .startsWith("\"").endsWith("\"");
+        assertThat(CacheEntry.etagOf(JSON)).isNotEqualTo(CacheEntry.etagOf("{}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void tagsGzipVariantSeparately() {
+        assertThat(CacheEntry.gzipEtagOf("\"abc\"")).isEqualTo("\"abc-gz\"");
+    }
+}
@@ -0,0 +1,94 @@
+package com.postzen.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SingleFlightCacheTest {
+
+    private static final int THRESHOLD = 64;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private ValueOperations<String, byte[]> values;
+    private SingleFlightCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, byte[]> redisTemplate = mock(RedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        RedisLock redisLock = mock(RedisLock.class);
+        when(redisLock.tryAcquire(anyString(), any())).thenReturn("token");
+
+        cache = new SingleFlightCache(redisTemplate, redisLock);
+        ReflectionTestUtils.setField(cache, "codec", CacheCodec.GZIP);
+        ReflectionTestUtils.setField(cache, "compressThresholdBytes", THRESHOLD);
+    }
+
+    @Test
+    void writesPayloadsBelowThresholdAsJson() {
+        String small = "{\"a\":1}";
+
+        cache.put("small", small, TTL);
+
+        byte[] stored = stored("small");
+        assertThat(stored[1]).isEqualTo((byte) CacheCodec.JSON.id());
+        assertThat(new String(CacheEntry.decode(stored).getPayloadBytes())).isEqualTo(small);
+    }
+
+    @Test
+    void writesPayloadsAtThresholdWithConfiguredCodec() {
+        String large = "{\"text\":\"" + "x".repeat(THRESHOLD) + "\"}";
+
+        cache.put("large", large, TTL);
+
+        byte[] stored = stored("large");
+        assertThat(stored[1]).isEqualTo((byte) CacheCodec.GZIP.id());
+        assertThat(new String(CacheEntry.decode(stored).getPayloadBytes())).isEqualTo(large);
+    }
+
+    @Test
+    void cachesMissingMarkerWhenAsked() {
+        CacheEntry entry = cache.get("gone", TTL, Duration.ofSeconds(30), () -> null);
+
+        assertThat(entry.isMissing()).isTrue();
+        assertThat(CacheEntry.decode(stored("gone")).isMissing()).isTrue();
+    }
+
+    @Test
+    void cachesNothingForNullWithoutMissTtl() {
+        assertThat(cache.get("gone", TTL, () -> null)).isNull();
+    }
+
+    @Test
+    void servesStoredEntryWithoutLoading() {
+        byte[] stored = CacheEntry.of("{}".getBytes(), Long.MAX_VALUE, 0).encode(CacheCodec.SMILE);
+        when(values.get("hit")).thenReturn(stored);
+
+        CacheEntry entry = cache.get("hit", TTL, () -> {
+            throw new AssertionError("loader must not run on a fresh hit");
+        });
+
+        assertThat(new String(entry.getPayloadBytes())).isEqualTo("{}");
+    }
+
+    private byte[] stored(String key) {
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(values).set(eq(key), captor.capture(), any(Duration.class));
+        return captor.getValue();
+    }
+}
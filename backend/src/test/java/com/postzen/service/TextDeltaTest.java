@@ -0,0 +1,128 @@
+package com.postzen.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextDeltaTest {
+
+    private static final String ARTICLE = """
+            # Title
+
+            First paragraph of the article.
+
+            ```java
+            int x = 1;
+            ```
+
+            Second paragraph, a little longer than the first one.
+
+            ```java
+            int y = 2;
+            ```
+
+            Closing words.
+            """;
+
+    @Test
+    void roundTripsUnchangedText() {
+        assertRoundTrip(ARTICLE, ARTICLE);
+    }
+
+    @Test
+    void roundTripsEditInTheMiddle() {
+        assertRoundTrip(ARTICLE, ARTICLE.replace("a little longer", "much longer"));
+    }
+
+    @Test
+    void roundTripsMovedLines() {
+        String moved = """
+                # Title
+
+                Second paragraph, a little longer than the first one.
+
+                First paragraph of the article.
+
+                Closing words.
+                """;
+        assertRoundTrip(ARTICLE, moved);
+        assertRoundTrip(moved, ARTICLE);
+    }
+
+    @Test
+    void roundTripsRepeatedAndBlankLines() {
+        String repeated = ARTICLE + "```java\nint x = 1;\n```\n\n\n\n```\n```\n" + ARTICLE;
+        assertRoundTrip(ARTICLE, repeated);
+        assertRoundTrip(repeated, ARTICLE);
+        assertRoundTrip("\n\n\n", "\n\n\n\n\n");
+        assertRoundTrip("\n\n\n\n\n", "\n");
+    }
+
+    @Test
+    void roundTripsMissingTrailingNewline() {
+        String unterminated = ARTICLE.substring(0, ARTICLE.length() - 1);
+        assertRoundTrip(ARTICLE, unterminated);
+        assertRoundTrip(unterminated, ARTICLE);
+        assertRoundTrip(unterminated, unterminated + " More.");
+        assertRoundTrip("one line", "one line\n");
+    }
+
+    @Test
+    void roundTripsEmptyText() {
+        assertRoundTrip("", ARTICLE);
+        assertRoundTrip(ARTICLE, "");
+        assertRoundTrip("", "");
+    }
+
+    @Test
+    void roundTripsRandomEdits() {
+        Random random = new Random(42);
+        String[] vocabulary = { "\n", "```\n", "- item\n", "Some text here.\n", "x", "", "Ünïcode ✓\n" };
+        for (int round = 0; round < 500; round++) {
+            List<String> base = new ArrayList<>();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                base.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            List<String> target = new ArrayList<>(base);
+            for (int edit = random.nextInt(6); edit > 0; edit--) {
+                int at = target.isEmpty() ? 0 : random.nextInt(target.size());
+                switch (random.nextInt(3)) {
+                    case 0 -> target.add(at, vocabulary[random.nextInt(vocabulary.length)]);
+                    case 1 -> {
+                        if (!target.isEmpty()) {
+                            target.remove(at);
+                        }
+                    }
+                    default -> {
+                        if (!target.isEmpty()) {
+                            target.add(random.nextInt(target.size()), target.remove(at));
+                        }
+                    }
+                }
+            }
+            assertRoundTrip(String.join("", base), String.join("", target));
+        }
+    }
+
+    @Test
+    void rejectsDeltaForAnotherBaseLength() {
+        byte[] delta = TextDelta.encode(ARTICLE, ARTICLE + "More.\n");
+
+        assertThatThrownBy(() -> TextDelta.apply(ARTICLE + "Extra line.\n", delta))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void compressRoundTrips() {
+        assertThat(TextDelta.decompress(TextDelta.compress(ARTICLE))).isEqualTo(ARTICLE);
+    }
+
+    private static void assertRoundTrip(String base, String target) {
+        assertThat(TextDelta.apply(base, TextDelta.encode(base, target))).isEqualTo(target);
+    }
+}
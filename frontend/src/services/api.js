@@ -68,7 +68,7 @@ const api = {
     deletePost: (id) => instance.delete(`/posts/${id}`).then(r => r.data),
 
     // Comments
-    getComments: (postId, page = 0, size = 20) => instance.get(`/posts/${postId}/comments?page=${page}&size=${size}`).then(r => r.data),
+    getComments: (postId, cursor = null, size = 20) => instance.get(`/posts/${postId}/comments`, { params: { cursor, size } }).then(r => r.data),
     createComment: (postId, content) => instance.post(`/posts/${postId}/comments`, { content }).then(r => r.data),
     deleteComment: (id) => instance.delete(`/comments/${id}`).then(r => r.data),
 